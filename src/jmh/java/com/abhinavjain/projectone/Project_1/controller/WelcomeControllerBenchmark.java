@@ -0,0 +1,109 @@
+package com.abhinavjain.projectone.Project_1.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of the WelcomeController GET endpoints: the previous implementation
+ * (build a HashMap, serialize it with Jackson) against the precomputed responses.
+ * Run with -prof gc and compare gc.alloc.rate.norm (bytes allocated per call).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WelcomeControllerBenchmark {
+
+    private ObjectMapper objectMapper;
+    private WelcomeController controller;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        controller = new WelcomeController(objectMapper);
+        ReflectionTestUtils.setField(controller, "appDescription", "Spring Boot Learning Project");
+        ReflectionTestUtils.setField(controller, "appAuthor", "Abhinav Jain");
+        controller.precomputeResponses();
+    }
+
+    @Benchmark
+    public byte[] helloMapAndJackson() throws Exception {
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "Hello, World!");
+        response.put("tip", "Try /hello/{yourName} for a personalized greeting");
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] helloPrecomputed() {
+        return controller.hello().getBody();
+    }
+
+    @Benchmark
+    public byte[] infoMapAndJackson() throws Exception {
+        Map<String, Object> info = new HashMap<>();
+        info.put("applicationName", "Spring Boot Learning Project");
+        info.put("description", "Spring Boot Learning Project");
+        info.put("author", "Abhinav Jain");
+        info.put("springBootFeatures", new String[]{
+                "Dependency Injection",
+                "Auto Configuration",
+                "REST API Development",
+                "Data JPA Integration",
+                "Property Configuration",
+                "Conditional Beans"
+        });
+        return objectMapper.writeValueAsBytes(info);
+    }
+
+    @Benchmark
+    public byte[] infoPrecomputed() {
+        return controller.appInfo().getBody();
+    }
+
+    @Benchmark
+    public byte[] welcomeMapAndJackson() throws Exception {
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", "🚀 Welcome to Spring Boot Learning Project!");
+        response.put("description", "This project demonstrates various Spring Boot concepts");
+        response.put("author", "Abhinav Jain");
+        response.put("availableEndpoints", new String[]{
+                "GET /hello - Simple hello world",
+                "GET /hello/{name} - Personalized greeting",
+                "GET /info - Application information",
+                "GET /time - Current server time",
+                "GET /students - Student CRUD operations",
+                "POST /echo - Echo request data"
+        });
+        response.put("timestamp", LocalDateTime.now());
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] welcomePrecomputed() {
+        return controller.welcome();
+    }
+
+    @Benchmark
+    public byte[] greetMapAndJackson() throws Exception {
+        Map<String, String> response = new HashMap<>();
+        response.put("greeting", "Hello" + ", " + "Guest" + "!");
+        response.put("note", "This demonstrates @RequestParam usage");
+        response.put("example", "Try: /greet?name=John&message=Welcome");
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] greetPrecomputed() {
+        return controller.greetWithParams("Guest", "Hello");
+    }
+}
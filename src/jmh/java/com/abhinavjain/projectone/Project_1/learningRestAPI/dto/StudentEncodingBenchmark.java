@@ -0,0 +1,78 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.dto;
+
+import com.abhinavjain.projectone.Project_1.learningRestAPI.config.StudentColumnarHttpMessageConverter;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encode time of one GET /students page per response encoding, with and without gzip.
+ * Payload sizes are printed once per trial, e.g.
+ * "encoding=columnar gzip=true size=1000 bytes=9876".
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StudentEncodingBenchmark {
+
+    @Param({"100", "1000"})
+    int size;
+
+    @Param({"json", "cbor", "smile", "columnar"})
+    String encoding;
+
+    @Param({"false", "true"})
+    boolean gzip;
+
+    private ObjectMapper json;
+    private ObjectMapper cbor;
+    private ObjectMapper smile;
+    private StudentPageDto page;
+
+    @Setup
+    public void setUp() throws IOException {
+        json = Jackson2ObjectMapperBuilder.json().build();
+        cbor = Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+        smile = Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build();
+        List<StudentDto> students = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            students.add(new StudentDto(i, "Student " + i, "student" + i + "@example.com", 0L));
+        }
+        page = new StudentPageDto(students, (long) size);
+        System.out.printf("%nencoding=%s gzip=%s size=%d bytes=%d%n", encoding, gzip, size, encode().length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256 * size);
+        try (OutputStream out = gzip ? new GZIPOutputStream(bytes, 8192) : bytes) {
+            switch (encoding) {
+                case "json" -> json.writeValue(out, page);
+                case "cbor" -> cbor.writeValue(out, page);
+                case "smile" -> smile.writeValue(out, page);
+                case "columnar" -> {
+                    try (JsonGenerator generator = json.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+                        StudentColumnarHttpMessageConverter.write(page, generator);
+                    }
+                }
+                default -> throw new IllegalArgumentException(encoding);
+            }
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,70 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.mapper;
+
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.AddStudentRequestDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.StudentDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.entity.Student;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Direct vs ModelMapper mapping on the list endpoint path (one toDto per row).
+ *
+ * Run with -prof gc (the profile default) to see gc.alloc.rate.norm, i.e. bytes allocated per call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StudentMapperBenchmark {
+
+    @Param({"1", "50", "500"})
+    int size;
+
+    private List<Student> students;
+    private AddStudentRequestDto request;
+
+    private final StudentMapper direct = new DirectStudentMapper();
+    private final StudentMapper reflective = new ModelMapperStudentMapper(new ModelMapper());
+
+    @Setup
+    public void setUp() {
+        students = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            Student student = new Student();
+            student.setId(i);
+            student.setName("Student " + i);
+            student.setEmail("student" + i + "@example.com");
+            student.setVersion(0L);
+            students.add(student);
+        }
+        request = new AddStudentRequestDto();
+        request.setName("New Student");
+        request.setEmail("new.student@example.com");
+    }
+
+    @Benchmark
+    public List<StudentDto> listDirect() {
+        return students.stream().map(direct::toDto).toList();
+    }
+
+    @Benchmark
+    public List<StudentDto> listModelMapper() {
+        return students.stream().map(reflective::toDto).toList();
+    }
+
+    @Benchmark
+    public Student createDirect() {
+        return direct.toEntity(request);
+    }
+
+    @Benchmark
+    public Student createModelMapper() {
+        return reflective.toEntity(request);
+    }
+}
@@ -0,0 +1,112 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.repository;
+
+import com.abhinavjain.projectone.Project_1.Project1Application;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.StudentPageDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.StudentSearchRequestDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.service.StudentService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search queries over a 1M row student table in embedded H2 (with the indexes declared on Student).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class StudentSearchBenchmark {
+
+    private static final int ROWS = 1_000_000;
+    private static final String[] FIRST_NAMES = {"Aarav", "Alice", "Bob", "Carlos", "Diya", "Emma", "Farhan", "Grace",
+            "Hiro", "Isha", "Jon", "Kavya", "Liam", "Maya", "Noah", "Olivia", "Priya", "Quinn", "Rahul", "Sara"};
+    private static final String[] DOMAINS = {"example.com", "school.edu", "mail.org", "uni.ac.in"};
+    // one row in 1000
+    private static final String RARE_DOMAIN = "alumni.edu";
+
+    private ConfigurableApplicationContext context;
+    private StudentService studentService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(Project1Application.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .properties("spring.main.banner-mode=off", "logging.level.root=warn")
+                .run();
+        studentService = context.getBean(StudentService.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        List<Object[]> batch = new ArrayList<>(10_000);
+        for (long id = 1; id <= ROWS; id++) {
+            String first = FIRST_NAMES[(int) (id % FIRST_NAMES.length)];
+            String domain = domain(id);
+            batch.add(new Object[]{id, first + " Student" + id, first.toLowerCase() + id + "@" + domain, domain});
+            if (batch.size() == 10_000) {
+                jdbcTemplate.batchUpdate("insert into student (id, name, email, email_domain, version) values (?, ?, ?, ?, 0)", batch);
+                batch.clear();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public StudentPageDto namePrefix() {
+        return studentService.searchStudents(search(randomFirstName(), "prefix", null, null), null, 50);
+    }
+
+    @Benchmark
+    public StudentPageDto nameContains() {
+        return studentService.searchStudents(search("Student99", "contains", null, null), null, 50);
+    }
+
+    @Benchmark
+    public StudentPageDto emailExact() {
+        long id = 1 + ThreadLocalRandom.current().nextInt(ROWS);
+        String email = FIRST_NAMES[(int) (id % FIRST_NAMES.length)].toLowerCase() + id + "@" + domain(id);
+        return studentService.searchStudents(search(null, "prefix", email, null), null, 50);
+    }
+
+    @Benchmark
+    public StudentPageDto emailDomainDeepPage() {
+        // keyset pagination: a page far into the table costs the same as the first one
+        long after = ThreadLocalRandom.current().nextInt(ROWS - 1_000);
+        return studentService.searchStudents(search(null, "prefix", null, "school.edu"), after, 50);
+    }
+
+    @Benchmark
+    public StudentPageDto emailDomainRare() {
+        // a page of 50 matches is spread over 50,000 rows
+        return studentService.searchStudents(search(null, "prefix", null, RARE_DOMAIN), null, 50);
+    }
+
+    private static String domain(long id) {
+        return id % 1_000 == 0 ? RARE_DOMAIN : DOMAINS[(int) (id % DOMAINS.length)];
+    }
+
+    private static String randomFirstName() {
+        return FIRST_NAMES[ThreadLocalRandom.current().nextInt(FIRST_NAMES.length)];
+    }
+
+    private static StudentSearchRequestDto search(String name, String nameMatch, String email, String emailDomain) {
+        StudentSearchRequestDto search = new StudentSearchRequestDto();
+        search.setName(name);
+        search.setNameMatch(nameMatch);
+        search.setEmail(email);
+        search.setEmailDomain(emailDomain);
+        return search;
+    }
+}
@@ -0,0 +1,34 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.service.impl;
+
+import com.abhinavjain.projectone.Project_1.learningRestAPI.entity.StudentField;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Field dispatch of PATCH /students/{id}: turning the JSON field map into the column values
+ * of the targeted UPDATE (StudentServiceImpl.toFieldValues), without the statement itself.
+ * StudentServiceBenchmark.patchStudent measures the whole call including the database.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PatchDispatchBenchmark {
+
+    private final Map<String, Object> nameOnly = Map.of("name", "Updated Name");
+    private final Map<String, Object> allFields = Map.of("name", "Updated Name", "email", "updated@example.com");
+
+    @Benchmark
+    public Map<StudentField, String> patchName() {
+        return StudentServiceImpl.toFieldValues(nameOnly);
+    }
+
+    @Benchmark
+    public Map<StudentField, String> patchAllFields() {
+        return StudentServiceImpl.toFieldValues(allFields);
+    }
+}
@@ -0,0 +1,87 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.service.impl;
+
+import com.abhinavjain.projectone.Project_1.Project1Application;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.AddStudentRequestDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.StudentDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.StudentPageDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.service.StudentService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * StudentService end to end (transaction, JPA, mapping) against the embedded H2 database
+ * configured in src/test/resources/application.properties.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StudentServiceBenchmark {
+
+    private static final int SEED_ROWS = 1_000;
+
+    private ConfigurableApplicationContext context;
+    private StudentService studentService;
+    private long firstId;
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(Project1Application.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .properties("spring.main.banner-mode=off", "logging.level.root=warn")
+                .run();
+        studentService = context.getBean(StudentService.class);
+        firstId = studentService.createdNewStudent(newStudent()).getId();
+        for (int i = 1; i < SEED_ROWS; i++) {
+            studentService.createdNewStudent(newStudent());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public StudentDto getStudentById() {
+        return studentService.getStudentByID(randomId());
+    }
+
+    @Benchmark
+    public StudentPageDto getFirstPage() {
+        return studentService.getAllStudents(null, 50);
+    }
+
+    @Benchmark
+    public StudentDto createStudent() {
+        return studentService.createdNewStudent(newStudent());
+    }
+
+    @Benchmark
+    public StudentDto patchStudent() {
+        return studentService.updatePartialStudent(randomId(), Map.of("name", "Patched " + sequence.incrementAndGet()), null);
+    }
+
+    private long randomId() {
+        return firstId + ThreadLocalRandom.current().nextInt(SEED_ROWS);
+    }
+
+    private AddStudentRequestDto newStudent() {
+        long n = sequence.incrementAndGet();
+        AddStudentRequestDto dto = new AddStudentRequestDto();
+        dto.setName("Student " + n);
+        dto.setEmail("student" + n + "@example.com");
+        return dto;
+    }
+}
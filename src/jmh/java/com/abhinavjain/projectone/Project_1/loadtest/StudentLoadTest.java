@@ -0,0 +1,102 @@
+package com.abhinavjain.projectone.Project_1.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load generator: every client sends the next request as soon as the
+ * previous one returns. Clients run on virtual threads so 1k+ of them cost almost nothing.
+ *
+ * Settings (system properties):
+ * - load.url          target URL (default http://localhost:8080/students/1)
+ * - load.concurrency  number of concurrent clients (default 1000)
+ * - load.seconds      measured duration (default 30)
+ * - load.warmup       warmup seconds, not recorded (default 5)
+ * - load.body-bytes   when set, POSTs a body of this many bytes instead of GET (e.g. for /echo)
+ */
+public class StudentLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        URI uri = URI.create(System.getProperty("load.url", "http://localhost:8080/students/1"));
+        int concurrency = Integer.getInteger("load.concurrency", 1000);
+        long warmupNanos = Duration.ofSeconds(Integer.getInteger("load.warmup", 5)).toNanos();
+        long measureNanos = Duration.ofSeconds(Integer.getInteger("load.seconds", 30)).toNanos();
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        int bodyBytes = Integer.getInteger("load.body-bytes", 0);
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30));
+        HttpRequest request = bodyBytes > 0
+                ? builder.header("Content-Type", "application/json").POST(HttpRequest.BodyPublishers.ofString(jsonBody(bodyBytes))).build()
+                : builder.GET().build();
+
+        AtomicLong errors = new AtomicLong();
+        long start = System.nanoTime();
+        long measureFrom = start + warmupNanos;
+        long end = measureFrom + measureNanos;
+
+        List<Future<long[]>> clients = new ArrayList<>(concurrency);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                clients.add(executor.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    long now;
+                    while ((now = System.nanoTime()) < end) {
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 500) errors.incrementAndGet();
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        if (now >= measureFrom) {
+                            if (count == latencies.length) latencies = Arrays.copyOf(latencies, count * 2);
+                            latencies[count++] = System.nanoTime() - now;
+                        }
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+        }
+
+        long[] all = clients.stream().map(StudentLoadTest::join).flatMapToLong(Arrays::stream).sorted().toArray();
+        double seconds = measureNanos / 1e9;
+        System.out.printf("url=%s concurrency=%d duration=%.0fs%n", uri, concurrency, seconds);
+        System.out.printf("requests=%d errors=%d throughput=%.1f req/s%n", all.length, errors.get(), all.length / seconds);
+        System.out.printf("p50=%.2fms p95=%.2fms p99=%.2fms max=%.2fms%n",
+                percentile(all, 0.50), percentile(all, 0.95), percentile(all, 0.99), percentile(all, 1.0));
+    }
+
+    // {"data":"xxxx..."} padded to exactly the requested size
+    private static String jsonBody(int bytes) {
+        String prefix = "{\"data\":\"";
+        String suffix = "\"}";
+        return prefix + "x".repeat(Math.max(0, bytes - prefix.length() - suffix.length())) + suffix;
+    }
+
+    private static long[] join(Future<long[]> future) {
+        try {
+            return future.get();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+}
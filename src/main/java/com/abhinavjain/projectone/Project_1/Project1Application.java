@@ -5,6 +5,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 
 /**
  * Main Spring Boot Application Class
@@ -38,10 +39,16 @@ public class Project1Application implements CommandLineRunner {
      * 4. Triggers auto-configuration
      * 5. Starts embedded web server (if web application)
      * 
+     * Here the SpringApplication is created explicitly instead, so a BufferingApplicationStartup
+     * can be attached before anything starts; it records the duration of every startup step.
+     * 
      * @param args Command line arguments passed to the application
      */
 	public static void main(String[] args) {
-		SpringApplication.run(Project1Application.class, args);
+		SpringApplication application = new SpringApplication(Project1Application.class);
+		// records how long each startup step takes: logged by StartupReport, served by /actuator/startup
+		application.setApplicationStartup(new BufferingApplicationStartup(4096));
+		application.run(args);
 	}
 
     /**
@@ -0,0 +1,147 @@
+package com.abhinavjain.projectone.Project_1.controller;
+
+import com.abhinavjain.projectone.Project_1.understandingBeans.IdempotentAsyncPaymentService;
+import com.abhinavjain.projectone.Project_1.understandingBeans.PaymentConflictException;
+import com.abhinavjain.projectone.Project_1.understandingBeans.PaymentRequest;
+import com.abhinavjain.projectone.Project_1.understandingBeans.PaymentResult;
+import com.abhinavjain.projectone.Project_1.understandingBeans.RoutingPaymentService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Payment Controller - runtime control of payment routing
+ *
+ * Both payment providers are always loaded behind RoutingPaymentService, so the provider
+ * can be switched, or taken out of rotation, without restarting the application.
+ *
+ * Test these endpoints:
+ * - GET  /payments/routing                                   -> preferred provider, circuit state, latency and error rate per provider
+ * - PUT  /payments/routing/preferred?provider=stripe         -> try stripe first ("auto" = fastest healthy provider)
+ * - PUT  /payments/routing/providers/razorpay?enabled=false  -> stop routing payments to razorpay
+ * - POST /payments/pay                                       -> make a payment through the router
+ * - POST /payments {"paymentId":"p-1","amountMinor":1000,"currency":"INR"}
+ *                                                            -> async, batched payment through the same router;
+ *                                                               retries with the same paymentId are not charged twice
+ *
+ * @author Abhinav Jain
+ */
+// admin endpoints: created on the first request instead of at startup
+@Lazy
+@RestController
+@RequestMapping("/payments")
+@RequiredArgsConstructor
+public class PaymentController {
+
+    private final RoutingPaymentService routingPaymentService;
+
+    private final IdempotentAsyncPaymentService asyncPaymentService;
+
+    /**
+     * GET /payments/routing
+     *
+     * @return current routing configuration and health of every provider
+     */
+    @GetMapping("/routing")
+    public Map<String, Object> routing() {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("preferred", routingPaymentService.getPreferred());
+        response.put("providers", routingPaymentService.status());
+        return response;
+    }
+
+    /**
+     * PUT /payments/routing/preferred?provider=stripe
+     *
+     * @param provider provider to try first, or "auto"
+     * @return the updated routing configuration
+     */
+    @PutMapping("/routing/preferred")
+    public Map<String, Object> setPreferred(@RequestParam String provider) {
+        routingPaymentService.setPreferred(provider);
+        return routing();
+    }
+
+    /**
+     * PUT /payments/routing/providers/{provider}?enabled=false
+     *
+     * @param provider provider to enable or disable
+     * @param enabled whether payments may be routed to it
+     * @return the updated routing configuration
+     */
+    @PutMapping("/routing/providers/{provider}")
+    public Map<String, Object> setEnabled(@PathVariable String provider, @RequestParam boolean enabled) {
+        routingPaymentService.setEnabled(provider, enabled);
+        return routing();
+    }
+
+    /**
+     * POST /payments/pay
+     *
+     * @return the confirmation of the provider that processed the payment
+     */
+    @PostMapping("/pay")
+    public Map<String, String> pay() {
+        return Map.of("processedBy", routingPaymentService.pay());
+    }
+
+    /**
+     * POST /payments
+     *
+     * The request thread is released while the payment is queued and sent; the response is
+     * written when the provider answers.
+     *
+     * @return the provider's result: 200 OK, also for declined payments
+     */
+    @PostMapping
+    public CompletableFuture<PaymentResult> payAsync(@RequestBody PaymentRequest request) {
+        if (request.paymentId() == null || request.paymentId().isBlank()) throw new IllegalArgumentException("paymentId is required");
+        if (request.amountMinor() <= 0) throw new IllegalArgumentException("amountMinor must be positive");
+        if (request.currency() == null || request.currency().isBlank()) throw new IllegalArgumentException("currency is required");
+        return asyncPaymentService.payAsync(request);
+    }
+
+    /**
+     * The payment never reached a provider (queue full, every provider unavailable): safe to retry.
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public Map<String, String> rejected(RejectedExecutionException e) {
+        return Map.of("error", e.getMessage());
+    }
+
+    /**
+     * The provider did not answer in time; the payment may or may not have been charged.
+     * Retry with the same paymentId to get the outcome once it is known.
+     */
+    @ExceptionHandler(TimeoutException.class)
+    @ResponseStatus(HttpStatus.GATEWAY_TIMEOUT)
+    public Map<String, String> timedOut(TimeoutException e) {
+        return Map.of("error", "Payment outcome unknown, retry with the same paymentId");
+    }
+
+    /**
+     * paymentId still in progress, or reused for a different payment.
+     */
+    @ExceptionHandler(PaymentConflictException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public Map<String, String> conflict(PaymentConflictException e) {
+        return Map.of("error", e.getMessage());
+    }
+
+    /**
+     * Unknown provider names are a client error, not a server error.
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, String> unknownProvider(IllegalArgumentException e) {
+        return Map.of("error", e.getMessage());
+    }
+}
@@ -0,0 +1,110 @@
+package com.abhinavjain.projectone.Project_1.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A JSON response body serialized once, at startup.
+ *
+ * Values that change per request are left as slots: the body map holds {@link #slot(String)}
+ * markers, the serialized bytes are split around them, and {@link #render(byte[]...)} only
+ * copies the constant chunks and the new values into one array, without building maps or
+ * running Jackson again.
+ */
+final class PrecomputedJson {
+
+    private static final String SLOT_PREFIX = "@@slot:";
+    private static final String SLOT_SUFFIX = "@@";
+
+    private final byte[][] chunks;
+
+    private PrecomputedJson(byte[][] chunks) {
+        this.chunks = chunks;
+    }
+
+    /**
+     * @return the placeholder to put in the body map where a per-request value goes
+     */
+    static String slot(String name) {
+        return SLOT_PREFIX + name + SLOT_SUFFIX;
+    }
+
+    /**
+     * Serializes the body and splits it around its slots, in the order they appear.
+     */
+    static PrecomputedJson of(ObjectMapper objectMapper, Map<String, ?> body) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not render static response " + body, e);
+        }
+        List<byte[]> chunks = new ArrayList<>();
+        int start = 0;
+        int slot;
+        // the slot markers were serialized as JSON strings: cut them out including their quotes
+        while ((slot = json.indexOf('"' + SLOT_PREFIX, start)) >= 0) {
+            chunks.add(json.substring(start, slot).getBytes(StandardCharsets.UTF_8));
+            start = json.indexOf(SLOT_SUFFIX + '"', slot + SLOT_PREFIX.length()) + SLOT_SUFFIX.length() + 1;
+        }
+        chunks.add(json.substring(start).getBytes(StandardCharsets.UTF_8));
+        return new PrecomputedJson(chunks.toArray(byte[][]::new));
+    }
+
+    /**
+     * @param values raw JSON for each slot, in slot order (see {@link #string} and {@link #number})
+     */
+    byte[] render(byte[]... values) {
+        int length = 0;
+        for (byte[] chunk : chunks) length += chunk.length;
+        for (byte[] value : values) length += value.length;
+        byte[] body = new byte[length];
+        int position = 0;
+        for (int i = 0; i < chunks.length; i++) {
+            System.arraycopy(chunks[i], 0, body, position, chunks[i].length);
+            position += chunks[i].length;
+            if (i < values.length) {
+                System.arraycopy(values[i], 0, body, position, values[i].length);
+                position += values[i].length;
+            }
+        }
+        return body;
+    }
+
+    /**
+     * For bodies without slots: the complete response, including its ETag, built once and
+     * returned as-is on every request. ResponseEntity headers are read-only, so sharing it is safe.
+     */
+    ResponseEntity<byte[]> toStaticResponse() {
+        byte[] body = render();
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .contentLength(body.length)
+                .eTag(DigestUtils.md5DigestAsHex(body))
+                .cacheControl(CacheControl.noCache())
+                .body(body);
+    }
+
+    static byte[] string(String value) {
+        byte[] escaped = JsonStringEncoder.getInstance().quoteAsUTF8(value);
+        byte[] quoted = new byte[escaped.length + 2];
+        quoted[0] = '"';
+        System.arraycopy(escaped, 0, quoted, 1, escaped.length);
+        quoted[quoted.length - 1] = '"';
+        return quoted;
+    }
+
+    static byte[] number(long value) {
+        return Long.toString(value).getBytes(StandardCharsets.US_ASCII);
+    }
+}
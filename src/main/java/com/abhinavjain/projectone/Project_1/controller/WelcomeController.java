@@ -1,10 +1,28 @@
 package com.abhinavjain.projectone.Project_1.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
-import java.util.HashMap;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -21,6 +39,12 @@ import java.util.Map;
  * This is perfect for beginners to understand how Spring Boot handles web requests
  * before diving into more complex CRUD operations.
  * 
+ * Performance note: /hello and /info double as load-balancer probes, so the GET endpoints
+ * do not build a Map and run Jackson per request. Each response is serialized once at
+ * startup (see PrecomputedJson) and only the values that change per request (timestamps,
+ * names from the URL) are copied into the pre-rendered bytes. Constant responses also
+ * carry an ETag, so probes sending If-None-Match get an empty 304.
+ * 
  * Test these endpoints:
  * - GET  /                    -> Welcome message
  * - GET  /hello              -> Simple hello world
@@ -46,20 +70,36 @@ public class WelcomeController {
     @Value("${app.author:Abhinav Jain}")
     private String appAuthor;
 
+    // same format Jackson uses for LocalDateTime
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+    private static final byte[] ECHO_PREFIX = "You sent: ".getBytes(StandardCharsets.UTF_8);
+
+    @Value("${echo.max-bytes:1MB}")
+    private DataSize echoMaxBytes;
+
+    private final ObjectMapper objectMapper;
+
+    private PrecomputedJson welcome;
+    private ResponseEntity<byte[]> hello;
+    private PrecomputedJson helloName;
+    private ResponseEntity<byte[]> info;
+    private PrecomputedJson time;
+    private PrecomputedJson greet;
+
+    public WelcomeController(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
     /**
-     * Root endpoint - Application welcome page
-     * 
-     * Accessible at: GET http://localhost:8080/
-     * 
-     * @return Welcome message with basic navigation info
+     * Renders every GET response once. Runs after the @Value fields have been injected.
      */
-    @GetMapping("/")
-    public Map<String, Object> welcome() {
-        Map<String, Object> response = new HashMap<>();
-        response.put("message", "🚀 Welcome to Spring Boot Learning Project!");
-        response.put("description", "This project demonstrates various Spring Boot concepts");
-        response.put("author", appAuthor);
-        response.put("availableEndpoints", new String[]{
+    @PostConstruct
+    void precomputeResponses() {
+        Map<String, Object> welcomeBody = new LinkedHashMap<>();
+        welcomeBody.put("message", "🚀 Welcome to Spring Boot Learning Project!");
+        welcomeBody.put("description", "This project demonstrates various Spring Boot concepts");
+        welcomeBody.put("author", appAuthor);
+        welcomeBody.put("availableEndpoints", new String[]{
             "GET /hello - Simple hello world",
             "GET /hello/{name} - Personalized greeting", 
             "GET /info - Application information",
@@ -67,8 +107,56 @@ public class WelcomeController {
             "GET /students - Student CRUD operations",
             "POST /echo - Echo request data"
         });
-        response.put("timestamp", LocalDateTime.now());
-        return response;
+        welcomeBody.put("timestamp", PrecomputedJson.slot("timestamp"));
+        welcome = PrecomputedJson.of(objectMapper, welcomeBody);
+
+        Map<String, Object> helloBody = new LinkedHashMap<>();
+        helloBody.put("message", "Hello, World!");
+        helloBody.put("tip", "Try /hello/{yourName} for a personalized greeting");
+        hello = PrecomputedJson.of(objectMapper, helloBody).toStaticResponse();
+
+        Map<String, Object> helloNameBody = new LinkedHashMap<>();
+        helloNameBody.put("message", PrecomputedJson.slot("message"));
+        helloNameBody.put("note", "This demonstrates @PathVariable usage");
+        helloName = PrecomputedJson.of(objectMapper, helloNameBody);
+
+        Map<String, Object> infoBody = new LinkedHashMap<>();
+        infoBody.put("applicationName", "Spring Boot Learning Project");
+        infoBody.put("description", appDescription);
+        infoBody.put("author", appAuthor);
+        infoBody.put("springBootFeatures", new String[]{
+            "Dependency Injection",
+            "Auto Configuration", 
+            "REST API Development",
+            "Data JPA Integration",
+            "Property Configuration",
+            "Conditional Beans"
+        });
+        info = PrecomputedJson.of(objectMapper, infoBody).toStaticResponse();
+
+        Map<String, Object> timeBody = new LinkedHashMap<>();
+        timeBody.put("currentTime", PrecomputedJson.slot("currentTime"));
+        timeBody.put("timezone", System.getProperty("user.timezone"));
+        timeBody.put("epoch", PrecomputedJson.slot("epoch"));
+        time = PrecomputedJson.of(objectMapper, timeBody);
+
+        Map<String, Object> greetBody = new LinkedHashMap<>();
+        greetBody.put("greeting", PrecomputedJson.slot("greeting"));
+        greetBody.put("note", "This demonstrates @RequestParam usage");
+        greetBody.put("example", "Try: /greet?name=John&message=Welcome");
+        greet = PrecomputedJson.of(objectMapper, greetBody);
+    }
+
+    /**
+     * Root endpoint - Application welcome page
+     * 
+     * Accessible at: GET http://localhost:8080/
+     * 
+     * @return Welcome message with basic navigation info
+     */
+    @GetMapping(value = "/", produces = "application/json")
+    public byte[] welcome() {
+        return welcome.render(timestamp(LocalDateTime.now()));
     }
 
     /**
@@ -78,12 +166,9 @@ public class WelcomeController {
      * 
      * @return Simple greeting message
      */
-    @GetMapping("/hello")
-    public Map<String, String> hello() {
-        Map<String, String> response = new HashMap<>();
-        response.put("message", "Hello, World!");
-        response.put("tip", "Try /hello/{yourName} for a personalized greeting");
-        return response;
+    @GetMapping(value = "/hello", produces = "application/json")
+    public ResponseEntity<byte[]> hello() {
+        return hello;
     }
 
     /**
@@ -96,12 +181,9 @@ public class WelcomeController {
      * @param name The name from the URL path
      * @return Personalized greeting message
      */
-    @GetMapping("/hello/{name}")
-    public Map<String, String> helloName(@PathVariable String name) {
-        Map<String, String> response = new HashMap<>();
-        response.put("message", "Hello, " + name + "! 👋");
-        response.put("note", "This demonstrates @PathVariable usage");
-        return response;
+    @GetMapping(value = "/hello/{name}", produces = "application/json")
+    public byte[] helloName(@PathVariable String name) {
+        return helloName.render(PrecomputedJson.string("Hello, " + name + "! 👋"));
     }
 
     /**
@@ -113,20 +195,8 @@ public class WelcomeController {
      * 
      * @return Application metadata and configuration
      */
-    @GetMapping("/info")
-    public Map<String, Object> appInfo() {
-        Map<String, Object> info = new HashMap<>();
-        info.put("applicationName", "Spring Boot Learning Project");
-        info.put("description", appDescription);
-        info.put("author", appAuthor);
-        info.put("springBootFeatures", new String[]{
-            "Dependency Injection",
-            "Auto Configuration", 
-            "REST API Development",
-            "Data JPA Integration",
-            "Property Configuration",
-            "Conditional Beans"
-        });
+    @GetMapping(value = "/info", produces = "application/json")
+    public ResponseEntity<byte[]> appInfo() {
         return info;
     }
 
@@ -137,13 +207,9 @@ public class WelcomeController {
      * 
      * @return Current server timestamp and timezone info
      */
-    @GetMapping("/time")
-    public Map<String, Object> currentTime() {
-        Map<String, Object> timeInfo = new HashMap<>();
-        timeInfo.put("currentTime", LocalDateTime.now());
-        timeInfo.put("timezone", System.getProperty("user.timezone"));
-        timeInfo.put("epoch", System.currentTimeMillis());
-        return timeInfo;
+    @GetMapping(value = "/time", produces = "application/json")
+    public byte[] currentTime() {
+        return time.render(timestamp(LocalDateTime.now()), PrecomputedJson.number(System.currentTimeMillis()));
     }
 
     /**
@@ -157,19 +223,48 @@ public class WelcomeController {
      *   "sender": "John Doe"
      * }
      * 
-     * @RequestBody demonstrates how to receive JSON data in POST requests
+     * Unlike @RequestBody, which reads the whole body into objects first, this reads the raw
+     * servlet input stream and writes it straight into the JSON response as it arrives, so memory
+     * use stays the same whatever the body size. That also makes it a throughput test for the
+     * web stack (see README).
      * 
-     * @param requestData The JSON data sent in the request body
-     * @return Echo response with the received data plus server info
+     * Bodies larger than echo.max-bytes get 413 Payload Too Large: immediately when the
+     * Content-Length says so, otherwise as soon as the limit is crossed while reading.
+     * 
+     * @param request gives access to the raw body
+     * @param response the echo is written directly to it
+     * @throws IOException if reading the request or writing the response fails
      */
     @PostMapping("/echo")
-    public Map<String, Object> echo(@RequestBody Map<String, Object> requestData) {
-        Map<String, Object> response = new HashMap<>();
-        response.put("echo", "You sent: " + requestData);
-        response.put("receivedAt", LocalDateTime.now());
-        response.put("note", "This demonstrates @RequestBody usage for POST requests");
-        response.put("httpMethod", "POST");
-        return response;
+    public void echo(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        long maxBytes = echoMaxBytes.toBytes();
+        if (request.getContentLengthLong() > maxBytes) {
+            response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value(), "Request body is larger than " + echoMaxBytes);
+            return;
+        }
+        String receivedAt = TIMESTAMP.format(LocalDateTime.now());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        Reader body = new InputStreamReader(new SequenceInputStream(
+                new ByteArrayInputStream(ECHO_PREFIX),
+                new BoundedInputStream(request.getInputStream(), maxBytes)), StandardCharsets.UTF_8);
+        try {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream());
+            generator.writeStartObject();
+            // escapes and writes the body in chunks, the body is never held in memory as a whole
+            generator.writeFieldName("echo");
+            generator.writeString(body, -1);
+            generator.writeStringField("receivedAt", receivedAt);
+            generator.writeStringField("note", "This demonstrates streaming a request body into the response");
+            generator.writeStringField("httpMethod", "POST");
+            generator.writeEndObject();
+            generator.flush();
+        } catch (PayloadTooLargeException e) {
+            // nothing sent yet (still in the response buffer): replace it with a 413,
+            // otherwise the status is already out and the connection is aborted
+            if (response.isCommitted()) throw e;
+            response.reset();
+            response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value(), e.getMessage());
+        }
     }
 
     /**
@@ -183,15 +278,55 @@ public class WelcomeController {
      * @param message Optional message parameter (defaults to "Hello")
      * @return Greeting with query parameters
      */
-    @GetMapping("/greet")
-    public Map<String, String> greetWithParams(
+    @GetMapping(value = "/greet", produces = "application/json")
+    public byte[] greetWithParams(
             @RequestParam(defaultValue = "Guest") String name,
             @RequestParam(defaultValue = "Hello") String message) {
         
-        Map<String, String> response = new HashMap<>();
-        response.put("greeting", message + ", " + name + "!");
-        response.put("note", "This demonstrates @RequestParam usage");
-        response.put("example", "Try: /greet?name=John&message=Welcome");
-        return response;
+        return greet.render(PrecomputedJson.string(message + ", " + name + "!"));
+    }
+
+    /**
+     * Counts bytes as they are read and fails once more than maxBytes arrive,
+     * for bodies sent without a Content-Length (chunked).
+     */
+    private static class BoundedInputStream extends FilterInputStream {
+        private final long maxBytes;
+        private long count;
+
+        BoundedInputStream(InputStream in, long maxBytes) {
+            super(in);
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) count(1);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) count(n);
+            return n;
+        }
+
+        private void count(int n) throws PayloadTooLargeException {
+            count += n;
+            if (count > maxBytes) throw new PayloadTooLargeException("Request body is larger than " + maxBytes + " bytes");
+        }
+    }
+
+    private static class PayloadTooLargeException extends IOException {
+        PayloadTooLargeException(String message) {
+            super(message);
+        }
+    }
+
+    // a formatted LocalDateTime never needs JSON escaping
+    private static byte[] timestamp(LocalDateTime now) {
+        return ('"' + TIMESTAMP.format(now) + '"').getBytes(StandardCharsets.US_ASCII);
     }
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.abhinavjain.projectone.Project_1.idempotency;
+
+/**
+ * Result of {@link IdempotencyStore#claim}.
+ *
+ * @param outcome  what the caller has to do
+ * @param response the recorded response, only for {@link Outcome#COMPLETED}
+ */
+public record IdempotencyClaim(Outcome outcome, IdempotentResponse response) {
+
+    public enum Outcome {
+        /** first request with this key: the caller executes it and then completes or releases the key */
+        NEW,
+        /** a request with this key is still executing */
+        IN_FLIGHT,
+        /** a request with this key already finished: replay the response */
+        COMPLETED,
+        /** the key was already used for a different request */
+        MISMATCH
+    }
+
+    static final IdempotencyClaim NEW = new IdempotencyClaim(Outcome.NEW, null);
+    static final IdempotencyClaim IN_FLIGHT = new IdempotencyClaim(Outcome.IN_FLIGHT, null);
+    static final IdempotencyClaim MISMATCH = new IdempotencyClaim(Outcome.MISMATCH, null);
+
+    static IdempotencyClaim completed(IdempotentResponse response) {
+        return new IdempotencyClaim(Outcome.COMPLETED, response);
+    }
+}
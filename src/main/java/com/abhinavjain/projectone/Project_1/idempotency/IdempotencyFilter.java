@@ -0,0 +1,177 @@
+package com.abhinavjain.projectone.Project_1.idempotency;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+/**
+ * Makes POSTs to the configured paths (idempotency.paths) safe to retry.
+ *
+ * A POST with an Idempotency-Key header is executed once per key:
+ * - first request: executed normally; its response is recorded unless it is a 5xx
+ *   (server errors release the key so the retry runs again)
+ * - retry after completion: the recorded response is replayed, with Idempotent-Replayed: true
+ * - retry while the first request is still running: 409 Conflict with Retry-After
+ * - same key with a different body: 422 Unprocessable Entity
+ *
+ * The body is buffered to fingerprint it, so it is limited to idempotency.max-body-size;
+ * larger bodies get 413 Payload Too Large. Requests without the header are not affected.
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    private final IdempotencyStore store;
+    private final Set<String> paths;
+    private final DataSize maxBodySize;
+
+    public IdempotencyFilter(IdempotencyStore store,
+                             @Value("${idempotency.paths:/students,/students/bulk,/payments/pay}") Set<String> paths,
+                             @Value("${idempotency.max-body-size:10MB}") DataSize maxBodySize) {
+        this.store = store;
+        this.paths = paths;
+        this.maxBodySize = maxBodySize;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod())
+                || request.getHeader(IdempotencyKeys.HEADER) == null
+                || !paths.contains(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String key = request.getHeader(IdempotencyKeys.HEADER);
+        if (!IdempotencyKeys.isValid(key)) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(),
+                    IdempotencyKeys.HEADER + " must be 1 to " + IdempotencyKeys.MAX_KEY_LENGTH + " characters");
+            return;
+        }
+        int maxBytes = Math.toIntExact(maxBodySize.toBytes());
+        if (request.getContentLengthLong() > maxBytes) {
+            response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value(), "Request body is larger than " + maxBodySize);
+            return;
+        }
+        // one byte more than allowed tells a chunked body that is too large from one that fits exactly
+        byte[] body = request.getInputStream().readNBytes(maxBytes + 1);
+        if (body.length > maxBytes) {
+            response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value(), "Request body is larger than " + maxBodySize);
+            return;
+        }
+        // the same key on different endpoints refers to different operations
+        String scopedKey = request.getMethod() + " " + request.getRequestURI() + " " + key;
+
+        IdempotencyClaim claim = store.claim(scopedKey, IdempotencyKeys.fingerprint(body));
+        switch (claim.outcome()) {
+            case COMPLETED -> replay(claim.response(), response);
+            case IN_FLIGHT -> {
+                response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                response.sendError(HttpStatus.CONFLICT.value(), "A request with this " + IdempotencyKeys.HEADER + " is still in progress");
+            }
+            case MISMATCH -> response.sendError(HttpStatus.UNPROCESSABLE_ENTITY.value(),
+                    IdempotencyKeys.HEADER + " was already used for a different request");
+            case NEW -> execute(scopedKey, new CachedBodyRequest(request, body), response, filterChain);
+        }
+    }
+
+    private void execute(String scopedKey, HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper recording = new ContentCachingResponseWrapper(response);
+        boolean completed = false;
+        try {
+            filterChain.doFilter(request, recording);
+            if (recording.getStatus() < 500) {
+                store.complete(scopedKey, new IdempotentResponse(recording.getStatus(), recording.getContentType(),
+                        recording.getContentAsByteArray()));
+                completed = true;
+            }
+        } finally {
+            if (!completed) store.release(scopedKey);
+            recording.copyBodyToResponse();
+        }
+    }
+
+    private static void replay(IdempotentResponse recorded, HttpServletResponse response) throws IOException {
+        response.setStatus(recorded.status());
+        if (recorded.contentType() != null) response.setContentType(recorded.contentType());
+        response.setHeader("Idempotent-Replayed", "true");
+        response.setContentLength(recorded.body().length);
+        response.getOutputStream().write(recorded.body());
+    }
+
+    /**
+     * The body has to be read up front to fingerprint it; this makes it readable again downstream.
+     */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // everything is already in memory: all of it is available now
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        if (!isFinished()) readListener.onDataAvailable();
+                        readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding)));
+        }
+    }
+}
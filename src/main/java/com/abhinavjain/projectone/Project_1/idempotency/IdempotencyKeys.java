@@ -0,0 +1,37 @@
+package com.abhinavjain.projectone.Project_1.idempotency;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Helpers shared by the users of {@link IdempotencyStore}.
+ */
+public final class IdempotencyKeys {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private IdempotencyKeys() {
+    }
+
+    public static boolean isValid(String key) {
+        return key != null && !key.isBlank() && key.length() <= MAX_KEY_LENGTH;
+    }
+
+    /**
+     * @return SHA-256 of the request content, hex encoded (64 characters)
+     */
+    public static String fingerprint(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public static String fingerprint(String content) {
+        return fingerprint(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
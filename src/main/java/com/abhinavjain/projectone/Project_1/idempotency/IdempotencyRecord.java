@@ -0,0 +1,40 @@
+package com.abhinavjain.projectone.Project_1.idempotency;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Row of the persistent idempotency store. responseStatus is null while the request is in flight.
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = @Index(name = "idx_idempotency_expires_at", columnList = "expiresAt"))
+@Getter
+@Setter
+public class IdempotencyRecord {
+    @Id
+    @Column(length = 512)
+    private String idempotencyKey;
+
+    @Column(nullable = false, length = 64)
+    private String fingerprint;
+
+    @Column(nullable = false)
+    private Instant claimedAt;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    private Integer responseStatus;
+    private String responseContentType;
+
+    // bytea as in V3; from the length alone Hibernate would pick blob (oid on PostgreSQL), which H2 rejects
+    @Column(columnDefinition = "bytea")
+    private byte[] responseBody;
+}
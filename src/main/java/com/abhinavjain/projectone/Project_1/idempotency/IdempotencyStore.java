@@ -0,0 +1,32 @@
+package com.abhinavjain.projectone.Project_1.idempotency;
+
+/**
+ * Records idempotency keys and the responses of the requests that used them.
+ *
+ * Usage: claim the key; on NEW execute the request and then complete() it with its
+ * response, or release() it when it failed in a way the client may retry. Entries expire
+ * after idempotency.ttl, and a key whose request never completed (e.g. the server died)
+ * can be claimed again after idempotency.in-flight-timeout.
+ *
+ * Selected with idempotency.store: memory (default, per instance) or jdbc (shared
+ * through the database, survives restarts).
+ */
+public interface IdempotencyStore {
+
+    /**
+     * @param key         idempotency key, already scoped to the endpoint
+     * @param fingerprint hash of the request, to detect a key reused for a different request
+     */
+    IdempotencyClaim claim(String key, String fingerprint);
+
+    void complete(String key, IdempotentResponse response);
+
+    void release(String key);
+
+    /**
+     * Drops a {@link IdempotentResponse#PROVISIONAL_STATUS provisional} response once it is known that
+     * the request never took effect, so the key can be claimed again. Leaves the key alone when it
+     * has been completed or claimed again in the meantime.
+     */
+    void releaseProvisional(String key);
+}
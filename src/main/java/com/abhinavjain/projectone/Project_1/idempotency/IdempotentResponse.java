@@ -0,0 +1,18 @@
+package com.abhinavjain.projectone.Project_1.idempotency;
+
+/**
+ * Response recorded for an idempotency key, replayed byte for byte to retries.
+ *
+ * @param status      HTTP status code
+ * @param contentType Content-Type of the body, may be null
+ * @param body        response body
+ */
+public record IdempotentResponse(int status, String contentType, byte[] body) {
+
+    /**
+     * 202 Accepted: the request ran but its outcome is not known yet (e.g. a payment that timed out
+     * at the provider). Replayed like any response, but can be dropped with
+     * {@link IdempotencyStore#releaseProvisional} once it is known the request never took effect.
+     */
+    public static final int PROVISIONAL_STATUS = 202;
+}
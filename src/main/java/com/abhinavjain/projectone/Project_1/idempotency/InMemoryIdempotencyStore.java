@@ -0,0 +1,67 @@
+package com.abhinavjain.projectone.Project_1.idempotency;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Idempotency keys in a bounded Caffeine map: at most idempotency.max-entries keys,
+ * each kept for idempotency.ttl after it was last written. Keys are per instance, so behind
+ * a load balancer retries only dedupe when they reach the same instance.
+ */
+@Component
+@ConditionalOnProperty(name = "idempotency.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private record Entry(String fingerprint, IdempotentResponse response, long claimedAtNanos) {
+    }
+
+    private final ConcurrentMap<String, Entry> entries;
+    private final long inFlightTimeoutNanos;
+
+    public InMemoryIdempotencyStore(@Value("${idempotency.max-entries:100000}") long maxEntries,
+                                    @Value("${idempotency.ttl:24h}") Duration ttl,
+                                    @Value("${idempotency.in-flight-timeout:30s}") Duration inFlightTimeout) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .<String, Entry>build()
+                .asMap();
+        this.inFlightTimeoutNanos = inFlightTimeout.toNanos();
+    }
+
+    @Override
+    public IdempotencyClaim claim(String key, String fingerprint) {
+        while (true) {
+            long now = System.nanoTime();
+            Entry claimed = new Entry(fingerprint, null, now);
+            Entry existing = entries.putIfAbsent(key, claimed);
+            if (existing == null) return IdempotencyClaim.NEW;
+            if (!existing.fingerprint().equals(fingerprint)) return IdempotencyClaim.MISMATCH;
+            if (existing.response() != null) return IdempotencyClaim.completed(existing.response());
+            if (now - existing.claimedAtNanos() < inFlightTimeoutNanos) return IdempotencyClaim.IN_FLIGHT;
+            // abandoned claim: take it over, unless another retry just did
+            if (entries.replace(key, existing, claimed)) return IdempotencyClaim.NEW;
+        }
+    }
+
+    @Override
+    public void complete(String key, IdempotentResponse response) {
+        entries.computeIfPresent(key, (k, entry) -> new Entry(entry.fingerprint(), response, entry.claimedAtNanos()));
+    }
+
+    @Override
+    public void release(String key) {
+        entries.remove(key);
+    }
+
+    @Override
+    public void releaseProvisional(String key) {
+        entries.computeIfPresent(key, (k, entry) -> entry.response() != null
+                && entry.response().status() == IdempotentResponse.PROVISIONAL_STATUS ? null : entry);
+    }
+}
@@ -0,0 +1,119 @@
+package com.abhinavjain.projectone.Project_1.idempotency;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Idempotency keys in the idempotency_keys table, shared by every instance and kept across restarts.
+ *
+ * The key is claimed with a single INSERT ... ON CONFLICT DO NOTHING, so of two concurrent
+ * requests with the same key exactly one inserts the row, without locking or retrying on
+ * constraint violations. Every method runs in its own transaction so the claim is visible to
+ * other instances immediately, not only when the request's own transaction commits.
+ *
+ * Expired rows are deleted lazily: the claimed key's own row on every claim, and all expired
+ * rows at most once per idempotency.purge-interval.
+ */
+@Component
+@ConditionalOnProperty(name = "idempotency.store", havingValue = "jdbc")
+public class JpaIdempotencyStore implements IdempotencyStore {
+
+    private final EntityManager entityManager;
+    private final Duration ttl;
+    private final Duration inFlightTimeout;
+    private final long purgeIntervalMillis;
+    private final AtomicLong lastPurge = new AtomicLong();
+
+    public JpaIdempotencyStore(EntityManager entityManager,
+                               @Value("${idempotency.ttl:24h}") Duration ttl,
+                               @Value("${idempotency.in-flight-timeout:30s}") Duration inFlightTimeout,
+                               @Value("${idempotency.purge-interval:1m}") Duration purgeInterval) {
+        this.entityManager = entityManager;
+        this.ttl = ttl;
+        this.inFlightTimeout = inFlightTimeout;
+        this.purgeIntervalMillis = purgeInterval.toMillis();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public IdempotencyClaim claim(String key, String fingerprint) {
+        Instant now = Instant.now();
+        purgeExpired(now);
+        // expired, or claimed by a request that never completed
+        entityManager.createQuery("""
+                        delete from IdempotencyRecord r
+                        where r.idempotencyKey = :key
+                          and (r.expiresAt < :now or (r.responseStatus is null and r.claimedAt < :abandonedBefore))""")
+                .setParameter("key", key)
+                .setParameter("now", now)
+                .setParameter("abandonedBefore", now.minus(inFlightTimeout))
+                .executeUpdate();
+        int inserted = entityManager.createQuery("""
+                        insert into IdempotencyRecord (idempotencyKey, fingerprint, claimedAt, expiresAt)
+                        values (:key, :fingerprint, :now, :expiresAt)
+                        on conflict do nothing""")
+                .setParameter("key", key)
+                .setParameter("fingerprint", fingerprint)
+                .setParameter("now", now)
+                .setParameter("expiresAt", now.plus(ttl))
+                .executeUpdate();
+        if (inserted == 1) return IdempotencyClaim.NEW;
+
+        IdempotencyRecord existing = entityManager.find(IdempotencyRecord.class, key);
+        // released between our insert and this read: report in flight, the client retries
+        if (existing == null) return IdempotencyClaim.IN_FLIGHT;
+        if (!existing.getFingerprint().equals(fingerprint)) return IdempotencyClaim.MISMATCH;
+        if (existing.getResponseStatus() == null) return IdempotencyClaim.IN_FLIGHT;
+        return IdempotencyClaim.completed(new IdempotentResponse(existing.getResponseStatus(),
+                existing.getResponseContentType(), existing.getResponseBody()));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void complete(String key, IdempotentResponse response) {
+        entityManager.createQuery("""
+                        update IdempotencyRecord r
+                        set r.responseStatus = :status, r.responseContentType = :contentType,
+                            r.responseBody = :body, r.expiresAt = :expiresAt
+                        where r.idempotencyKey = :key""")
+                .setParameter("status", response.status())
+                .setParameter("contentType", response.contentType())
+                .setParameter("body", response.body())
+                .setParameter("expiresAt", Instant.now().plus(ttl))
+                .setParameter("key", key)
+                .executeUpdate();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void release(String key) {
+        entityManager.createQuery("delete from IdempotencyRecord r where r.idempotencyKey = :key and r.responseStatus is null")
+                .setParameter("key", key)
+                .executeUpdate();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void releaseProvisional(String key) {
+        entityManager.createQuery("delete from IdempotencyRecord r where r.idempotencyKey = :key and r.responseStatus = :provisional")
+                .setParameter("key", key)
+                .setParameter("provisional", IdempotentResponse.PROVISIONAL_STATUS)
+                .executeUpdate();
+    }
+
+    private void purgeExpired(Instant now) {
+        long last = lastPurge.get();
+        if (now.toEpochMilli() - last < purgeIntervalMillis || !lastPurge.compareAndSet(last, now.toEpochMilli())) return;
+        entityManager.createQuery("delete from IdempotencyRecord r where r.expiresAt < :now")
+                .setParameter("now", now)
+                .executeUpdate();
+    }
+}
@@ -0,0 +1,52 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import java.util.concurrent.Executors;
+
+/**
+ * Turns on Spring's cache abstraction. The cache itself (Caffeine, size and TTL bounds)
+ * is configured through spring.cache.* in application.properties.
+ */
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+    public static final String STUDENTS_CACHE = "students";
+
+    /**
+     * Replaces Spring Boot's Caffeine manager so it can be wrapped: inside a transaction,
+     * {@code @CacheEvict} is deferred until after the commit. Evicting before the commit would let
+     * a concurrent read put the old row back, where it would stay until the TTL expires.
+     *
+     * With virtual threads, a synchronous Caffeine load runs inside ConcurrentHashMap.compute,
+     * i.e. inside a synchronized block, and would pin the carrier thread for the whole database
+     * call. Async mode only stores a future inside the lock and runs the load on a virtual thread.
+     */
+    @Bean
+    public CacheManager cacheManager(CacheProperties cacheProperties,
+                                     @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager();
+        String spec = cacheProperties.getCaffeine().getSpec();
+        Caffeine<Object, Object> caffeine = StringUtils.hasText(spec) ? Caffeine.from(spec) : Caffeine.newBuilder();
+        if (virtualThreads) {
+            caffeine = caffeine.executor(Executors.newVirtualThreadPerTaskExecutor());
+            caffeineCacheManager.setAsyncCacheMode(true);
+        }
+        caffeineCacheManager.setCaffeine(caffeine);
+        if (!cacheProperties.getCacheNames().isEmpty()) {
+            caffeineCacheManager.setCacheNames(cacheProperties.getCacheNames());
+        }
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+}
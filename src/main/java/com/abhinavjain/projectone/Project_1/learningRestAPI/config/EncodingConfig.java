@@ -0,0 +1,33 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Response encodings, chosen by the Accept header:
+ * - application/json (default)
+ * - application/cbor and application/x-jackson-smile: binary JSON, registered by Spring MVC
+ *   because jackson-dataformat-cbor/-smile are on the classpath
+ * - application/vnd.student.columnar+json: {@link StudentColumnarHttpMessageConverter}, pages only
+ *
+ * Gzip for the text formats is done by the server (server.compression.* in application.properties).
+ */
+@Configuration
+@RequiredArgsConstructor
+public class EncodingConfig implements WebMvcConfigurer {
+
+    private final ObjectMapper objectMapper;
+
+    // first: Jackson's JSON converter also accepts application/*+json and would otherwise write
+    // the page as plain JSON under the columnar content type. Clients sending Accept: */* still
+    // get JSON, see StudentColumnarHttpMessageConverter#canWrite.
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new StudentColumnarHttpMessageConverter(objectMapper.getFactory()));
+    }
+}
@@ -3,10 +3,13 @@ package com.abhinavjain.projectone.Project_1.learningRestAPI.config;
 import org.modelmapper.ModelMapper;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 
 @Configuration
 public class MapperConfig {
+    // only needed with student.mapper=modelmapper: created on first use instead of at startup
     @Bean
+    @Lazy
     public ModelMapper modelMapper(){
         return new ModelMapper();
     }
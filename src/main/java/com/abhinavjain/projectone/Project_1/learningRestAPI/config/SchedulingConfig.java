@@ -0,0 +1,13 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Turns on @Scheduled methods (the outbox dispatcher). They run on Spring Boot's
+ * single-threaded task scheduler (spring.task.scheduling.*), one at a time.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,99 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.config;
+
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.StudentDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.StudentPageDto;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes a student page column by column instead of as an array of objects:
+ * <pre>
+ * {"ids":[1,2],"names":["A","B"],"emails":["a@x.com","b@x.com"],"versions":[0,3],"nextCursor":2}
+ * </pre>
+ * Field names appear once per page instead of once per student, which roughly halves the
+ * payload for typical pages, and similar values next to each other compress better.
+ *
+ * Only used when the client asks for it with Accept: application/vnd.student.columnar+json.
+ */
+public class StudentColumnarHttpMessageConverter extends AbstractHttpMessageConverter<StudentPageDto> {
+
+    public static final String MEDIA_TYPE_VALUE = "application/vnd.student.columnar+json";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    private final JsonFactory jsonFactory;
+
+    public StudentColumnarHttpMessageConverter(JsonFactory jsonFactory) {
+        super(MEDIA_TYPE);
+        this.jsonFactory = jsonFactory;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return StudentPageDto.class.isAssignableFrom(clazz);
+    }
+
+    // Only when asked for by name. Null or wildcard media types are how Spring MVC collects the
+    // types it could produce for Accept: */* or application/*+json; staying out of that list keeps
+    // those clients on plain JSON even though this converter is registered ahead of Jackson.
+    @Override
+    public boolean canWrite(Class<?> clazz, @Nullable MediaType mediaType) {
+        return mediaType != null && !mediaType.isWildcardType() && !mediaType.isWildcardSubtype()
+                && super.canWrite(clazz, mediaType);
+    }
+
+    // response-only format
+    @Override
+    public boolean canRead(Class<?> clazz, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected StudentPageDto readInternal(Class<? extends StudentPageDto> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException(MEDIA_TYPE_VALUE + " is a response-only format", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(StudentPageDto page, HttpOutputMessage outputMessage) throws IOException {
+        JsonGenerator generator = jsonFactory.createGenerator(outputMessage.getBody(), JsonEncoding.UTF8);
+        write(page, generator);
+        generator.flush();
+    }
+
+    public static void write(StudentPageDto page, JsonGenerator generator) throws IOException {
+        List<StudentDto> students = page.getStudents() == null ? List.of() : page.getStudents();
+        generator.writeStartObject();
+        generator.writeArrayFieldStart("ids");
+        for (StudentDto student : students) writeNumber(generator, student.getId());
+        generator.writeEndArray();
+        generator.writeArrayFieldStart("names");
+        for (StudentDto student : students) generator.writeString(student.getName());
+        generator.writeEndArray();
+        generator.writeArrayFieldStart("emails");
+        for (StudentDto student : students) generator.writeString(student.getEmail());
+        generator.writeEndArray();
+        generator.writeArrayFieldStart("versions");
+        for (StudentDto student : students) writeNumber(generator, student.getVersion());
+        generator.writeEndArray();
+        generator.writeFieldName("nextCursor");
+        writeNumber(generator, page.getNextCursor());
+        generator.writeEndObject();
+    }
+
+    private static void writeNumber(JsonGenerator generator, Long value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.controller;
+
+import com.abhinavjain.projectone.Project_1.learningRestAPI.readmodel.StudentReadModel;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache Statistics Controller
+ * 
+ * Exposes the counters Caffeine keeps for every cache (enabled with "recordStats"
+ * in spring.cache.caffeine.spec), so you can check how well the cache is doing.
+ * 
+ * - GET /cache/stats -> hits, misses, evictions, loads and current size per cache
+ * - GET /cache/read-model -> memory per row of the packed student read model (readmodel.enabled=true)
+ * 
+ * @author Abhinav Jain
+ */
+// diagnostics only: created on the first request instead of at startup
+@Lazy
+@RestController
+@RequiredArgsConstructor
+public class CacheStatsController {
+
+    private final CacheManager cacheManager;
+
+    private final ObjectProvider<StudentReadModel> studentReadModel;
+
+    /**
+     * GET /cache/stats
+     * 
+     * @return one entry per cache with its hit/miss/eviction counters
+     */
+    @GetMapping("/cache/stats")
+    public Map<String, Object> cacheStats() {
+        Map<String, Object> response = new LinkedHashMap<>();
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null && cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+                CacheStats stats = caffeine.stats();
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("hits", stats.hitCount());
+                entry.put("misses", stats.missCount());
+                entry.put("hitRate", stats.hitRate());
+                entry.put("evictions", stats.evictionCount());
+                entry.put("loads", stats.loadCount());
+                entry.put("size", caffeine.estimatedSize());
+                response.put(name, entry);
+            }
+        }
+        return response;
+    }
+
+    /**
+     * GET /cache/read-model
+     * 
+     * @return rows, index and data sizes, bytes per row against the entity cache estimate,
+     *         or 404 NOT FOUND when the read model is disabled
+     */
+    @GetMapping("/cache/read-model")
+    public ResponseEntity<Map<String, Object>> readModelStats() {
+        StudentReadModel readModel = studentReadModel.getIfAvailable();
+        return readModel == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(readModel.memoryReport());
+    }
+}
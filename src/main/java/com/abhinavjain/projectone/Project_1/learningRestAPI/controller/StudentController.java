@@ -1,14 +1,29 @@
 package com.abhinavjain.projectone.Project_1.learningRestAPI.controller;
 
 import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.AddStudentRequestDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.BulkPatchRequestDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.BulkResultDto;
 import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.StudentDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.StudentPageDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.StudentSearchRequestDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.outbox.StudentChangeStream;
 import com.abhinavjain.projectone.Project_1.learningRestAPI.service.StudentService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
 
@@ -40,13 +55,24 @@ import java.util.Map;
  *    - Status codes, headers, and body
  *    - Better than returning objects directly
  * 
+ * 6. Conditional requests with ETags:
+ *    - GET responses carry an ETag built from the student's version
+ *    - If-None-Match with the current ETag -> 304 Not Modified (no body is sent)
+ *    - If-Match on PUT/PATCH/DELETE with a stale ETag (or for a deleted student) -> 412 Precondition Failed
+ * 
  * REST API Endpoints:
- * - GET    /students       -> Get all students
+ * - GET    /students       -> Get a page of students (?after=&limit=)
+ * - GET    /students/stream -> Stream every student as NDJSON
+ * - GET    /students/search -> Search by name/email (?name=&nameMatch=&email=&emailDomain=)
+ * - GET    /students/changes -> Server-Sent Events of every change (?after= or Last-Event-ID to resume)
  * - GET    /students/{id}  -> Get student by ID
  * - POST   /students       -> Create new student
  * - PUT    /students/{id}  -> Update entire student
  * - PATCH  /students/{id}  -> Partial update student
  * - DELETE /students/{id}  -> Delete student
+ * - POST   /students/bulk  -> Create many students in one transaction
+ * - PATCH  /students/bulk  -> Partially update many students
+ * - DELETE /students/bulk  -> Delete many students
  * 
  * @author Abhinav Jain
  */
@@ -65,19 +91,118 @@ public class StudentController {
      */
     private final StudentService studentService;
 
+    private final ObjectMapper objectMapper;
+
+    private final StudentChangeStream studentChangeStream;
+
     /**
-     * GET /students
+     * GET /students?after={id}&limit={n}
+     * 
+     * Retrieves one page of students using keyset (cursor) pagination on id.
      * 
-     * Retrieves all students from the database.
+     * Unlike OFFSET pagination, the database seeks straight to "id > after" using the
+     * primary key index, so every page is equally cheap no matter how deep you go.
      * 
      * HTTP Method: GET (idempotent and safe)
-     * Response: 200 OK with list of students
+     * Response: 200 OK with the page and a nextCursor (null on the last page),
+     *           or 304 Not Modified when If-None-Match still matches the page's ETag
+     * Encoding: picked from the Accept header - application/json (default), application/cbor,
+     *           application/x-jackson-smile or application/vnd.student.columnar+json
+     *           (one array per field instead of one object per student)
      * 
-     * @return ResponseEntity containing list of all students
+     * @param after id of the last student already seen (omit for the first page)
+     * @param limit page size, capped at 500
+     * @return ResponseEntity containing a page of students
      */
     @GetMapping
-    public ResponseEntity<List<StudentDto>> getAllStudent(){
-        return ResponseEntity.status(HttpStatus.OK).body(studentService.getAllStudents());
+    public ResponseEntity<StudentPageDto> getAllStudent(@RequestParam(required = false) Long after,
+                                                        @RequestParam(defaultValue = "50") int limit){
+        StudentPageDto page = studentService.getAllStudents(after,limit);
+        // Spring compares the ETag with If-None-Match and turns this into a 304 when they match
+        // (weak comparison, so the weak page ETag still matches whatever encoding was sent)
+        // Vary: the same URL returns a different body per Accept header, caches must key on it
+        return ResponseEntity.status(HttpStatus.OK).eTag(StudentETags.of(page)).varyBy(HttpHeaders.ACCEPT).body(page);
+    }
+
+    /**
+     * GET /students/stream
+     * 
+     * Streams every student as newline-delimited JSON (one StudentDto per line).
+     * 
+     * StreamingResponseBody writes to the response while rows are still being read from
+     * a database cursor, so a full export runs in constant memory instead of building
+     * one giant List first.
+     * 
+     * @return ResponseEntity with a streaming NDJSON body
+     */
+    @GetMapping(value = "/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamAllStudents(){
+        ObjectWriter writer = objectMapper.writerFor(StudentDto.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(null);
+                studentService.streamAllStudents(student -> {
+                    try {
+                        writer.writeValue(generator, student);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType("application/x-ndjson")).body(body);
+    }
+
+    /**
+     * GET /students/search?name=Jo&nameMatch=prefix&emailDomain=example.com&after={id}&limit={n}
+     * 
+     * Searches students by name and/or email, paginated the same way as GET /students.
+     * 
+     * Query parameters without @RequestParam are bound onto StudentSearchRequestDto
+     * (this is @ModelAttribute binding), and @Valid checks it like a request body.
+     * 
+     * - name + nameMatch=prefix   -> names starting with "name" (uses the name index)
+     * - name + nameMatch=contains -> names containing "name"
+     * - email                     -> exact email (uses the unique email index)
+     * - emailDomain               -> emails ending in "@emailDomain"
+     * 
+     * @param search the search filters, all optional
+     * @param after id of the last student already seen (omit for the first page)
+     * @param limit page size, capped at 500
+     * @return ResponseEntity containing a page of matching students
+     */
+    @GetMapping("/search")
+    public ResponseEntity<StudentPageDto> searchStudents(@Valid StudentSearchRequestDto search,
+                                                         @RequestParam(required = false) Long after,
+                                                         @RequestParam(defaultValue = "50") int limit){
+        StudentPageDto page = studentService.searchStudents(search,after,limit);
+        return ResponseEntity.ok().eTag(StudentETags.of(page)).varyBy(HttpHeaders.ACCEPT).body(page);
+    }
+
+    /**
+     * GET /students/changes?after={offset}
+     * 
+     * Streams every create, update and delete as Server-Sent Events, in commit order, so
+     * other systems can stay in sync without polling GET /students.
+     * 
+     * Each event's id is its offset in the change stream. After a disconnect the browser's
+     * EventSource sends the last one back as Last-Event-ID and the stream resumes right
+     * after it; other clients can pass ?after= instead. Without either, only new changes
+     * are sent. Changes older than outbox.retention are no longer available.
+     * 
+     * Event data: {"offset":42,"studentId":7,"type":"UPDATED","occurredAt":"...","student":{...}}
+     * (student is null for DELETED)
+     * 
+     * @param lastEventId offset of the last event received before reconnecting
+     * @param after offset to start after when not reconnecting
+     * @return an open event stream
+     */
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+                                    @RequestParam(required = false) Long after){
+        return studentChangeStream.subscribe(lastEventId != null ? lastEventId : after);
     }
 
     /**
@@ -86,14 +211,16 @@ public class StudentController {
      * Retrieves a specific student by their ID.
      * 
      * @PathVariable: Extracts the {id} from URL path
-     * Response: 200 OK with student data, or 404 if not found
+     * Response: 200 OK with student data and its ETag, or 304 Not Modified
+     *           when If-None-Match still matches
      * 
      * @param id The unique identifier of the student
      * @return ResponseEntity containing the requested student
      */
     @GetMapping("/{id}")
     public ResponseEntity<StudentDto> getStudentById(@PathVariable("id") Long id){
-        return ResponseEntity.ok(studentService.getStudentByID(id));
+        StudentDto student = studentService.getStudentByID(id);
+        return ResponseEntity.ok().eTag(StudentETags.of(student)).varyBy(HttpHeaders.ACCEPT).body(student);
     }
 
     /**
@@ -120,13 +247,16 @@ public class StudentController {
      * 
      * Response: 204 NO CONTENT (successful deletion, no body needed)
      * Alternative: 200 OK with confirmation message
+     * 412 PRECONDITION FAILED when If-Match is sent and the student changed meanwhile
      * 
      * @param id The unique identifier of the student to delete
+     * @param ifMatch optional ETag the client last saw
      * @return ResponseEntity with no content
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteStudent(@PathVariable Long id){
-        studentService.deleteStudent(id);
+    public ResponseEntity<Void> deleteStudent(@PathVariable Long id,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
+        studentService.deleteStudent(id,StudentETags.expectedVersion(id,ifMatch));
         return ResponseEntity.noContent().build();
     }
 
@@ -138,13 +268,19 @@ public class StudentController {
      * PUT is idempotent: same request multiple times = same result
      * All fields should be provided (full replacement)
      * 
+     * Send If-Match with the ETag from a previous GET to make sure you are not
+     * overwriting someone else's change (412 PRECONDITION FAILED if you are)
+     * 
      * @param id The unique identifier of the student to update
      * @param addStudentRequestDto DTO containing all student data
-     * @return ResponseEntity with updated student information
+     * @param ifMatch optional ETag the client last saw
+     * @return ResponseEntity with updated student information and its new ETag
      */
     @PutMapping("/{id}")
-    public ResponseEntity<StudentDto> updateStudent(@PathVariable Long id,@RequestBody @Valid AddStudentRequestDto addStudentRequestDto){
-        return ResponseEntity.ok(studentService.updateStudent(id,addStudentRequestDto));
+    public ResponseEntity<StudentDto> updateStudent(@PathVariable Long id,@RequestBody @Valid AddStudentRequestDto addStudentRequestDto,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
+        StudentDto student = studentService.updateStudent(id,addStudentRequestDto,StudentETags.expectedVersion(id,ifMatch));
+        return ResponseEntity.ok().eTag(StudentETags.of(student)).varyBy(HttpHeaders.ACCEPT).body(student);
     }
 
     /**
@@ -164,10 +300,63 @@ public class StudentController {
      * 
      * @param id The unique identifier of the student to update
      * @param updates Map containing field names and new values
-     * @return ResponseEntity with updated student information
+     * @param ifMatch optional ETag the client last saw
+     * @return ResponseEntity with updated student information and its new ETag
      */
     @PatchMapping("/{id}")
-    public ResponseEntity<StudentDto> updatePartialStudent(@PathVariable Long id, @RequestBody Map<String,Object> updates){
-        return ResponseEntity.ok(studentService.updatePartialStudent(id,updates));
+    public ResponseEntity<StudentDto> updatePartialStudent(@PathVariable Long id, @RequestBody Map<String,Object> updates,
+                                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
+        StudentDto student = studentService.updatePartialStudent(id,updates,StudentETags.expectedVersion(id,ifMatch));
+        return ResponseEntity.ok().eTag(StudentETags.of(student)).varyBy(HttpHeaders.ACCEPT).body(student);
+    }
+
+    /**
+     * POST /students/bulk
+     * 
+     * Creates many students in a single transaction using JDBC batching.
+     * 
+     * Every item is validated on its own: invalid items are reported back with their
+     * errors while the valid ones are still created.
+     * Response: 200 OK with one result per item (same order as the request array)
+     * 
+     * @param students array of students to create (at most 10,000)
+     * @return ResponseEntity with per-item results
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkResultDto> createStudents(@RequestBody List<AddStudentRequestDto> students){
+        return ResponseEntity.ok(studentService.createStudents(students));
+    }
+
+    /**
+     * PATCH /students/bulk
+     * 
+     * Partially updates many students in a single transaction.
+     * 
+     * Example request body:
+     * [
+     *   { "id": 1, "updates": { "name": "Updated Name" } },
+     *   { "id": 2, "updates": { "email": "new.email@example.com" } }
+     * ]
+     * 
+     * @param updates array of id + field map pairs (at most 10,000)
+     * @return ResponseEntity with per-item results
+     */
+    @PatchMapping("/bulk")
+    public ResponseEntity<BulkResultDto> updatePartialStudents(@RequestBody List<BulkPatchRequestDto> updates){
+        return ResponseEntity.ok(studentService.updatePartialStudents(updates));
+    }
+
+    /**
+     * DELETE /students/bulk
+     * 
+     * Deletes many students with one batched DELETE per chunk of ids.
+     * Ids that do not exist are reported as failed items.
+     * 
+     * @param ids array of student ids (at most 10,000)
+     * @return ResponseEntity with per-item results
+     */
+    @DeleteMapping("/bulk")
+    public ResponseEntity<BulkResultDto> deleteStudents(@RequestBody List<Long> ids){
+        return ResponseEntity.ok(studentService.deleteStudents(ids));
     }
 }
@@ -0,0 +1,86 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.controller;
+
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.StudentDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.StudentPageDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.exception.StudentVersionConflictException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * ETags for students, derived from id + version so they can be computed without
+ * serializing the body first.
+ *
+ * - single student: W/"{id}-{version}"
+ * - page of students: W/"p-{hash of every id/version on the page and the next cursor}"
+ *
+ * Both are weak: the same student or page is sent as JSON, CBOR or Smile (pages also as columnar
+ * JSON) depending on Accept, and the ETag is computed before that choice is made. The encodings
+ * are not byte-for-byte equal, so a strong ETag would be wrong for all but one of them.
+ * If-Match is still checked here against the version, so the weak tag works there too.
+ */
+final class StudentETags {
+
+    private StudentETags() {
+    }
+
+    static String of(StudentDto student) {
+        return "W/\"" + student.getId() + "-" + student.getVersion() + "\"";
+    }
+
+    static String of(StudentPageDto page) {
+        long hash = 0x9E3779B97F4A7C15L;
+        for (StudentDto student : page.getStudents()) {
+            hash = mix(hash ^ student.getId());
+            hash = mix(hash ^ (student.getVersion() == null ? -1 : student.getVersion()));
+        }
+        hash = mix(hash ^ (page.getNextCursor() == null ? -1 : page.getNextCursor()));
+        return "W/\"p-" + Long.toHexString(hash) + "\"";
+    }
+
+    /**
+     * Extracts the version from an If-Match header sent for student {id}.
+     *
+     * The header may list several ETags; it matches when any of them does. Tags of other
+     * students (or malformed ones) can never match and are skipped, so at most one version is
+     * left to check against the row.
+     *
+     * @return the expected version, or null when there is no precondition (no header or "*")
+     * @throws StudentVersionConflictException when no tag in the header can match this student
+     * @throws ResponseStatusException 400 when the header names more than one version of this student
+     */
+    static Long expectedVersion(Long id, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) return null;
+        String prefix = "\"" + id + "-";
+        Long version = null;
+        for (String tag : ifMatch.split(",")) {
+            String eTag = tag.trim();
+            if (eTag.equals("*")) return null;
+            // tags sent before the single-student ETag became weak have no W/ prefix
+            if (eTag.startsWith("W/")) eTag = eTag.substring(2);
+            if (!eTag.startsWith(prefix) || !eTag.endsWith("\"") || eTag.length() <= prefix.length() + 1) continue;
+            long tagVersion;
+            try {
+                tagVersion = Long.parseLong(eTag.substring(prefix.length(), eTag.length() - 1));
+            } catch (NumberFormatException e) {
+                continue; // a malformed tag cannot match
+            }
+            if (version != null && version != tagVersion) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "If-Match names more than one version of student " + id);
+            }
+            version = tagVersion;
+        }
+        if (version == null) throw new StudentVersionConflictException("If-Match " + ifMatch + " does not match student " + id);
+        return version;
+    }
+
+    // 64-bit finalizer from MurmurHash3
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
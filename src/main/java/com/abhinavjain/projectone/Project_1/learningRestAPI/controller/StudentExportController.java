@@ -0,0 +1,153 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.controller;
+
+import com.abhinavjain.projectone.Project_1.learningRestAPI.export.StudentExportDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.export.StudentExportService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Student Export Controller
+ * 
+ * Full-table snapshots for nightly jobs, instead of paging through GET /students.
+ * 
+ * 1. POST /students/exports?format=ndjson|csv
+ *    - 202 ACCEPTED while the snapshot is written, 200 OK once it is ready
+ *    - requests made while the table has not changed get the same snapshot (generation)
+ * 
+ * 2. GET /students/exports/{generation}
+ *    - the gzip file, with Range support so interrupted downloads can continue
+ *    - on Tomcat the bytes are sent with sendfile (FileChannel.transferTo): file to socket
+ *      in the kernel, no copy through the JVM heap
+ *    - 202 ACCEPTED with the status while the snapshot is still being written
+ * 
+ * @author Abhinav Jain
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/students/exports")
+public class StudentExportController {
+
+    // request attributes of Tomcat's sendfile support (see Tomcat's DefaultServlet)
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final MediaType GZIP = MediaType.parseMediaType("application/gzip");
+
+    private final StudentExportService studentExportService;
+
+    /**
+     * POST /students/exports?format=ndjson
+     * 
+     * @param format ndjson (default) or csv
+     * @return ResponseEntity with the snapshot's status, Location of the download
+     */
+    @PostMapping
+    public ResponseEntity<StudentExportDto> requestExport(@RequestParam(defaultValue = "ndjson") String format){
+        StudentExportDto export = studentExportService.request(parseFormat(format));
+        URI location = URI.create("/students/exports/"+export.getGeneration());
+        HttpStatus status = switch (export.getStatus()) {
+            case READY -> HttpStatus.OK;
+            case RUNNING -> HttpStatus.ACCEPTED;
+            case FAILED -> HttpStatus.INTERNAL_SERVER_ERROR;
+        };
+        return ResponseEntity.status(status).location(location).body(export);
+    }
+
+    /**
+     * GET /students/exports/{generation}
+     * 
+     * A single byte range ("Range: bytes=1048576-") is answered with 206 PARTIAL CONTENT;
+     * a snapshot never changes, so it is also safe to cache forever.
+     * 
+     * @param generation the snapshot returned by POST /students/exports
+     * @return ResponseEntity with the file, its status while it is written, or 404 NOT FOUND
+     */
+    @GetMapping("/{generation}")
+    public ResponseEntity<?> downloadExport(@PathVariable String generation, @RequestHeader HttpHeaders headers,
+                                            HttpServletRequest request) throws IOException {
+        Optional<Path> ready = studentExportService.readyFile(generation);
+        if (ready.isEmpty()) {
+            return studentExportService.find(generation)
+                    .<ResponseEntity<?>>map(export -> ResponseEntity.status(HttpStatus.ACCEPTED).body(export))
+                    .orElse(ResponseEntity.notFound().build());
+        }
+        Path file = ready.get();
+        long length = Files.size(file);
+        HttpHeaders responseHeaders = new HttpHeaders();
+        responseHeaders.setContentType(GZIP);
+        responseHeaders.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+        responseHeaders.setETag("\""+generation+"\"");
+        responseHeaders.setCacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable());
+        responseHeaders.setContentDisposition(ContentDisposition.attachment().filename(file.getFileName().toString()).build());
+
+        List<HttpRange> ranges;
+        try {
+            ranges = headers.getRange();
+        } catch (IllegalArgumentException e) {
+            ranges = List.of();
+        }
+        // several ranges need a multipart body: left to Spring's resource support
+        if (ranges.size() > 1 || !"GET".equals(request.getMethod()) || !Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            return ResponseEntity.ok().headers(responseHeaders).body(new FileSystemResource(file));
+        }
+
+        // answered here: Tomcat would otherwise still send the file after Spring's 304
+        if (headers.getIfNoneMatch().contains(responseHeaders.getETag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(responseHeaders.getETag()).build();
+        }
+        long start = 0;
+        long end = length - 1;
+        HttpStatus status = HttpStatus.OK;
+        if (ranges.size() == 1) {
+            try {
+                start = ranges.get(0).getRangeStart(length);
+                end = ranges.get(0).getRangeEnd(length);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                        .header(HttpHeaders.CONTENT_RANGE, "bytes */"+length).build();
+            }
+            status = HttpStatus.PARTIAL_CONTENT;
+            responseHeaders.set(HttpHeaders.CONTENT_RANGE, "bytes "+start+"-"+end+"/"+length);
+        }
+        // no body is written here: Tomcat sends the file region itself once the response is committed
+        request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+        request.setAttribute(SENDFILE_START, start);
+        request.setAttribute(SENDFILE_END, end + 1);
+        responseHeaders.setContentLength(end - start + 1);
+        return ResponseEntity.status(status).headers(responseHeaders).build();
+    }
+
+    private static StudentExportService.Format parseFormat(String format) {
+        try {
+            return StudentExportService.Format.valueOf(format.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown export format: "+format+" (expected ndjson or csv)");
+        }
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, String> invalidExport(IllegalArgumentException e) {
+        return Map.of("error", e.getMessage());
+    }
+}
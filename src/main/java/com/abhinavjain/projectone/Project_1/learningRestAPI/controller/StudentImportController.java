@@ -0,0 +1,113 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.controller;
+
+import com.abhinavjain.projectone.Project_1.learningRestAPI.importjob.StudentImportErrorDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.importjob.StudentImportJobDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.importjob.StudentImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Student Import Controller
+ * 
+ * Loads whole files of students (hundreds of thousands of rows) as background jobs,
+ * instead of one POST /students per student.
+ * 
+ * The request only stores the file and returns 202 Accepted with the job; progress is
+ * then polled from the job's URL (the Location header).
+ * 
+ * File formats (picked with ?format= or from the file extension):
+ * - csv:    header row "name,email", then one student per line
+ * - ndjson: one {"name":...,"email":...} object per line
+ * 
+ * REST API Endpoints:
+ * - POST /students/imports              -> Upload a file (multipart field "file")
+ * - GET  /students/imports/{id}         -> Job status and row counters
+ * - GET  /students/imports/{id}/errors  -> Rejected rows with reasons (?after={row}&limit=)
+ * - POST /students/imports/{id}/resume  -> Continue a failed job from its last committed chunk
+ * 
+ * @author Abhinav Jain
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/students/imports")
+public class StudentImportController {
+
+    private final StudentImportService studentImportService;
+
+    /**
+     * POST /students/imports
+     * 
+     * Response: 202 ACCEPTED with the queued job, Location: /students/imports/{id}
+     * 
+     * @param file the CSV or NDJSON file
+     * @param format csv or ndjson, when the file name does not tell
+     * @return ResponseEntity with the new job
+     */
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<StudentImportJobDto> startImport(@RequestParam("file") MultipartFile file,
+                                                           @RequestParam(required = false) String format) throws IOException {
+        StudentImportJobDto job = studentImportService.submit(file,format);
+        return ResponseEntity.accepted().location(URI.create("/students/imports/"+job.getId())).body(job);
+    }
+
+    /**
+     * GET /students/imports/{id}
+     * 
+     * status goes QUEUED -> RUNNING -> COMPLETED or FAILED; rowsProcessed, rowsImported
+     * and rowsFailed grow with every committed chunk.
+     * 
+     * @param id the job id
+     * @return ResponseEntity with the job, 404 NOT FOUND for an unknown id
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<StudentImportJobDto> getImport(@PathVariable String id){
+        return ResponseEntity.of(studentImportService.find(id));
+    }
+
+    /**
+     * GET /students/imports/{id}/errors?after={row}&limit={n}
+     * 
+     * Rejected rows in file order, paginated by row number.
+     * 
+     * @param id the job id
+     * @param after row number of the last error already seen
+     * @param limit page size, capped at 1000
+     * @return ResponseEntity with one entry per rejected row
+     */
+    @GetMapping("/{id}/errors")
+    public ResponseEntity<List<StudentImportErrorDto>> getImportErrors(@PathVariable String id,
+                                                                       @RequestParam(defaultValue = "0") long after,
+                                                                       @RequestParam(defaultValue = "100") int limit){
+        return ResponseEntity.ok(studentImportService.errors(id,after,limit));
+    }
+
+    /**
+     * POST /students/imports/{id}/resume
+     * 
+     * @param id the job id
+     * @return ResponseEntity with the job, 404 NOT FOUND for an unknown id
+     */
+    @PostMapping("/{id}/resume")
+    public ResponseEntity<StudentImportJobDto> resumeImport(@PathVariable String id){
+        return studentImportService.resume(id).map(job -> ResponseEntity.accepted().body(job))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Unknown formats, empty files and jobs that cannot be resumed are client errors.
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, String> invalidImport(IllegalArgumentException e) {
+        return Map.of("error", e.getMessage());
+    }
+}
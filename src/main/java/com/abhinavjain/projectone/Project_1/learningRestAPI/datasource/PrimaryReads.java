@@ -0,0 +1,32 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Forces the reads of a block onto the primary, also inside read-only transactions.
+ *
+ * Used for loads whose result outlives the request, such as cache fills: a row read from a
+ * lagging replica would be served from the cache until its next eviction. The scope is bound to
+ * the thread running the block, so it also holds on a cache loader thread where no client is known.
+ */
+public final class PrimaryReads {
+
+    private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+    private PrimaryReads() {
+    }
+
+    public static <T> T call(Supplier<T> reads) {
+        if (ACTIVE.get() != null) return reads.get();
+        ACTIVE.set(Boolean.TRUE);
+        try {
+            return reads.get();
+        } finally {
+            ACTIVE.remove();
+        }
+    }
+
+    static boolean active() {
+        return ACTIVE.get() != null;
+    }
+}
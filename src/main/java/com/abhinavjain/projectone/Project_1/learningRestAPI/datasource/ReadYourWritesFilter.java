@@ -0,0 +1,52 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Identifies the client of each request for read-your-writes routing: the X-Client-Id header
+ * when sent (stable across a client's connections and behind proxies), else the remote address.
+ *
+ * Runs before every other filter so database work done by filters is attributed too.
+ */
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String CLIENT_ID_HEADER = "X-Client-Id";
+
+    private static final ThreadLocal<String> CLIENT = new ThreadLocal<>();
+
+    /**
+     * @return the client of the current request, or null outside of a request
+     */
+    static String currentClient() {
+        return CLIENT.get();
+    }
+
+    static void bindClient(String client) {
+        CLIENT.set(client);
+    }
+
+    static void clearClient() {
+        CLIENT.remove();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String client = request.getHeader(CLIENT_ID_HEADER);
+        bindClient(client == null || client.isBlank() ? request.getRemoteAddr() : client);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            clearClient();
+        }
+    }
+}
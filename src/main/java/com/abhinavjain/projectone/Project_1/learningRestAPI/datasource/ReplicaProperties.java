@@ -0,0 +1,25 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * datasource.replicas.* settings.
+ *
+ * @param enabled         route read-only transactions to the replicas
+ * @param instances       replica connection settings; pool settings are copied from spring.datasource.hikari
+ * @param maximumPoolSize pool size per replica, defaults to the primary's
+ * @param stickyWindow    how long after a write the same client keeps reading from the primary
+ */
+@ConfigurationProperties("datasource.replicas")
+public record ReplicaProperties(boolean enabled,
+                                @DefaultValue List<Instance> instances,
+                                Integer maximumPoolSize,
+                                @DefaultValue("5s") Duration stickyWindow) {
+
+    public record Instance(String url, String username, String password) {
+    }
+}
@@ -0,0 +1,85 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces Spring Boot's single DataSource with primary + replica pools behind a
+ * {@link ReplicaRoutingDataSource}. Enabled with datasource.replicas.enabled=true.
+ *
+ * The pools are not beans themselves, so JPA, the SQL tracing wrapper and the pool
+ * monitor keep seeing exactly one DataSource; their Hikari metrics are registered here,
+ * tagged with the pool name (studentDB, studentDB-replica-0, ...).
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replicas.enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class ReplicaRoutingConfig {
+
+    /**
+     * Owns the connection pools and closes them on shutdown.
+     */
+    public record ReplicaPools(HikariDataSource primary, List<HikariDataSource> replicas) implements AutoCloseable {
+        @Override
+        public void close() {
+            replicas.forEach(HikariDataSource::close);
+            primary.close();
+        }
+    }
+
+    @Bean
+    public ReplicaPools replicaPools(DataSourceProperties dataSourceProperties, ReplicaProperties replicaProperties,
+                                     Environment environment, ObjectProvider<MeterRegistry> meterRegistry) {
+        Binder binder = Binder.get(environment);
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        if (primary.getPoolName() == null) primary.setPoolName("primary");
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (ReplicaProperties.Instance instance : replicaProperties.instances()) {
+            HikariDataSource replica = new HikariDataSource();
+            binder.bind("spring.datasource.hikari", Bindable.ofInstance(replica));
+            replica.setJdbcUrl(instance.url());
+            replica.setUsername(instance.username() != null ? instance.username() : primary.getUsername());
+            replica.setPassword(instance.password() != null ? instance.password() : primary.getPassword());
+            replica.setPoolName(primary.getPoolName() + "-replica-" + replicas.size());
+            replica.setReadOnly(true);
+            if (replicaProperties.maximumPoolSize() != null) replica.setMaximumPoolSize(replicaProperties.maximumPoolSize());
+            replicas.add(replica);
+        }
+
+        meterRegistry.ifAvailable(registry -> {
+            primary.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            replicas.forEach(replica -> replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+        });
+        return new ReplicaPools(primary, replicas);
+    }
+
+    @Bean
+    public DataSource dataSource(ReplicaPools replicaPools, ReplicaProperties replicaProperties) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+                replicaPools.primary(), replicaPools.replicas(), replicaProperties.stickyWindow());
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter() {
+        return new ReadYourWritesFilter();
+    }
+}
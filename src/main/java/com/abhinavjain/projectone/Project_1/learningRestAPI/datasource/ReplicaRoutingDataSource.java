@@ -0,0 +1,79 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions (@Transactional(readOnly = true)) to the replicas, round robin,
+ * and everything else to the primary.
+ *
+ * Read-your-writes: replicas lag slightly behind the primary, so a client that just wrote could
+ * read its old data back from a replica. After a write transaction, reads from the same client
+ * (see {@link ReadYourWritesFilter}) stay on the primary for the sticky window. Reads inside
+ * {@link PrimaryReads#call} always stay on the primary.
+ *
+ * The routing decision uses the transaction's read-only flag, which Spring only sets after the
+ * transaction has started, so this must be wrapped in a LazyConnectionDataSourceProxy that
+ * fetches the real connection at the first statement.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private final List<String> replicaKeys;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<? extends DataSource> replicas, Duration stickyWindow) {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            targets.put("replica-" + i, replicas.get(i));
+        }
+        this.replicaKeys = targets.keySet().stream().map(String.class::cast).filter(key -> !PRIMARY.equals(key)).sorted().toList();
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(stickyWindow)
+                .build();
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String client = ReadYourWritesFilter.currentClient();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (client != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+                markWriter(client);
+            }
+            return PRIMARY;
+        }
+        if (replicaKeys.isEmpty() || PrimaryReads.active() || (client != null && recentWriters.getIfPresent(client) != null)) {
+            return PRIMARY;
+        }
+        return replicaKeys.get(Math.floorMod(next.getAndIncrement(), replicaKeys.size()));
+    }
+
+    private void markWriter(String client) {
+        recentWriters.put(client, Boolean.TRUE);
+        // the window should run from the commit, when the replicas start catching up
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    recentWriters.put(client, Boolean.TRUE);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkItemResultDto {
+    // position of the item in the request array
+    private int index;
+    private Long id;
+    private boolean success;
+    private List<String> errors;
+}
@@ -0,0 +1,16 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkPatchRequestDto {
+    private Long id;
+    private Map<String, Object> updates;
+}
@@ -0,0 +1,17 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkResultDto {
+    private int succeeded;
+    private int failed;
+    private List<BulkItemResultDto> results;
+}
@@ -12,6 +12,7 @@ public class StudentDto {
     private Long id;
     private String name;
     private String email;
+    private Long version;
 }
 
 //    Either use this whole or use @Data annotation but not for constructor
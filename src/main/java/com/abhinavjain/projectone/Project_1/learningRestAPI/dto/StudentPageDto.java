@@ -0,0 +1,18 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StudentPageDto {
+    private List<StudentDto> students;
+
+    // id of the last student on this page; pass it back as ?after= to get the next page (null on the last page)
+    private Long nextCursor;
+}
@@ -0,0 +1,21 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.dto;
+
+import jakarta.validation.constraints.Pattern;
+import lombok.Data;
+
+
+@Data
+public class StudentSearchRequestDto {
+
+    private String name;
+
+    // how "name" is matched: prefix (can use the name index) or contains
+    @Pattern(regexp = "prefix|contains", message = "nameMatch must be prefix or contains")
+    private String nameMatch = "prefix";
+
+    // exact email match (unique index)
+    private String email;
+
+    // matches every email ending in @emailDomain
+    private String emailDomain;
+}
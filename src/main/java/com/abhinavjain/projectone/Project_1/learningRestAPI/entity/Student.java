@@ -1,20 +1,59 @@
 package com.abhinavjain.projectone.Project_1.learningRestAPI.entity;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_student_name", columnList = "name"),
+        @Index(name = "ux_student_email", columnList = "email", unique = true),
+        @Index(name = "idx_student_email_domain", columnList = "email_domain, id")
+})
 @Getter
 @Setter
 public class Student {
+    // SEQUENCE (not IDENTITY) so Hibernate can batch inserts; allocationSize ids are reserved per sequence call
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "student_seq")
+    @SequenceGenerator(name = "student_seq", sequenceName = "student_seq", allocationSize = 50)
     private Long id;
 
     private String name;
     private String email;
+
+    // derived from email so "emailDomain=" searches are an indexed equality match; only used in queries
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @Column(name = "email_domain")
+    private String emailDomain;
+
+    // bumped on every update; exposed to clients as the ETag
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    public void setEmail(String email) {
+        this.email = email;
+        this.emailDomain = domainOf(email);
+    }
+
+    /**
+     * @return the part after the last '@', or null when there is none
+     */
+    public static String domainOf(String email) {
+        int at = email == null ? -1 : email.lastIndexOf('@');
+        return at < 0 ? null : email.substring(at + 1);
+    }
 }
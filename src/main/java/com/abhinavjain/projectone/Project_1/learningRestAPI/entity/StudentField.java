@@ -0,0 +1,46 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.entity;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Fields a client may change with PATCH. The lookup table is built once, so validating a
+ * field name is a single map lookup, and the JSON name doubles as the JPA attribute name
+ * for targeted UPDATE statements.
+ */
+public enum StudentField {
+    NAME("name", Student::setName),
+    EMAIL("email", Student::setEmail);
+
+    private static final Map<String, StudentField> BY_NAME = Arrays.stream(values())
+            .collect(Collectors.toUnmodifiableMap(StudentField::fieldName, Function.identity()));
+
+    private final String fieldName;
+    private final BiConsumer<Student, String> setter;
+
+    StudentField(String fieldName, BiConsumer<Student, String> setter) {
+        this.fieldName = fieldName;
+        this.setter = setter;
+    }
+
+    public static StudentField of(String fieldName) {
+        StudentField field = BY_NAME.get(fieldName);
+        if (field == null) throw new IllegalArgumentException("Field: " + fieldName + " is not a valid field");
+        return field;
+    }
+
+    public static boolean isValid(String fieldName) {
+        return BY_NAME.containsKey(fieldName);
+    }
+
+    public String fieldName() {
+        return fieldName;
+    }
+
+    public void apply(Student student, String value) {
+        setter.accept(student, value);
+    }
+}
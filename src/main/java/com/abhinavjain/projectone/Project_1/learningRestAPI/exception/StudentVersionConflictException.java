@@ -0,0 +1,15 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * The client's If-Match ETag no longer matches the stored student, i.e. someone else
+ * changed it in between. Answered with 412 Precondition Failed.
+ */
+@ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+public class StudentVersionConflictException extends RuntimeException {
+    public StudentVersionConflictException(String message) {
+        super(message);
+    }
+}
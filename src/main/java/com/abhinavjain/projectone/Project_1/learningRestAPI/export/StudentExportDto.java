@@ -0,0 +1,21 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.export;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StudentExportDto {
+
+    public enum Status { RUNNING, READY, FAILED }
+
+    private String generation;
+    private StudentExportService.Format format;
+    private Status status;
+    // download URL, set once READY
+    private String location;
+    private Long sizeBytes;
+    private String error;
+}
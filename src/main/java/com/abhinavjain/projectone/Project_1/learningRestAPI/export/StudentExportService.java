@@ -0,0 +1,226 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.export;
+
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.StudentDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.repository.StudentRepository;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.repository.StudentTableStats;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.service.StudentService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes gzip-compressed snapshots of the whole student table to export.directory.
+ *
+ * A snapshot is named by its generation: format + {@link StudentTableStats} (row count,
+ * max id, sum of versions), which changes with every insert, update and delete. So:
+ * - a request while nothing changed gets the existing file, no rows are read
+ * - concurrent requests for the same generation share one writer (computeIfAbsent on the
+ *   generation), however many nightly jobs ask at once
+ * - a file never changes once written, so it can be cached and downloaded in ranges
+ *
+ * Rows are read through StudentService.streamAllStudents (a server-side cursor that detaches
+ * each row), written to a .part file and moved into place when complete. Only the newest
+ * export.keep-generations files per format are kept.
+ */
+@Service
+public class StudentExportService implements DisposableBean {
+
+    public enum Format {
+        NDJSON("ndjson"), CSV("csv");
+
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(StudentExportService.class);
+
+    private static final Pattern GENERATION = Pattern.compile("(ndjson|csv)-\\d+-\\d+-\\d+");
+    private static final CsvMapper CSV_MAPPER = new CsvMapper();
+
+    private final StudentService studentService;
+    private final StudentRepository studentRepository;
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final int keepGenerations;
+    private final ExecutorService writers;
+    private final ConcurrentMap<String, CompletableFuture<Path>> generations = new ConcurrentHashMap<>();
+
+    public StudentExportService(StudentService studentService, StudentRepository studentRepository, ObjectMapper objectMapper,
+                                @Value("${export.directory:${java.io.tmpdir}/student-exports}") String directory,
+                                @Value("${export.keep-generations:2}") int keepGenerations,
+                                @Value("${export.max-concurrent:2}") int maxConcurrent) {
+        this.studentService = studentService;
+        this.studentRepository = studentRepository;
+        this.objectMapper = objectMapper;
+        this.directory = Path.of(directory);
+        this.keepGenerations = Math.max(1, keepGenerations);
+        this.writers = Executors.newFixedThreadPool(maxConcurrent);
+    }
+
+    /**
+     * Starts writing a snapshot of the current table, or joins the one already written or
+     * being written for it.
+     */
+    public StudentExportDto request(Format format) {
+        StudentTableStats stats = studentRepository.tableStats();
+        String generation = format.extension + "-" + stats.rowCount() + "-" + stats.maxId() + "-" + stats.versionSum();
+        CompletableFuture<Path> snapshot = generations.computeIfAbsent(generation, key -> {
+            Path file = file(key);
+            // written before a restart
+            if (Files.exists(file)) return CompletableFuture.completedFuture(file);
+            return CompletableFuture.supplyAsync(() -> write(format, file), writers);
+        });
+        if (snapshot.isCompletedExceptionally()) {
+            // report this failure once, the next request tries again
+            generations.remove(generation, snapshot);
+        }
+        return status(generation, format, snapshot);
+    }
+
+    /**
+     * @return the status of a generation this instance has written or is writing
+     */
+    public Optional<StudentExportDto> find(String generation) {
+        if (!GENERATION.matcher(generation).matches()) return Optional.empty();
+        CompletableFuture<Path> snapshot = generations.get(generation);
+        if (snapshot == null) {
+            if (!Files.exists(file(generation))) return Optional.empty();
+            snapshot = CompletableFuture.completedFuture(file(generation));
+        }
+        Format format = generation.startsWith("csv") ? Format.CSV : Format.NDJSON;
+        return Optional.of(status(generation, format, snapshot));
+    }
+
+    /**
+     * @return the finished file of a generation
+     */
+    public Optional<Path> readyFile(String generation) {
+        return find(generation).filter(export -> export.getStatus() == StudentExportDto.Status.READY).map(export -> file(generation));
+    }
+
+    @Override
+    public void destroy() {
+        writers.shutdownNow();
+    }
+
+    private Path file(String generation) {
+        return directory.resolve("students-" + generation + "." + (generation.startsWith("csv") ? "csv" : "ndjson") + ".gz");
+    }
+
+    private StudentExportDto status(String generation, Format format, CompletableFuture<Path> snapshot) {
+        if (!snapshot.isDone()) return new StudentExportDto(generation, format, StudentExportDto.Status.RUNNING, null, null, null);
+        try {
+            Path file = snapshot.join();
+            return new StudentExportDto(generation, format, StudentExportDto.Status.READY,
+                    "/students/exports/" + generation, Files.size(file), null);
+        } catch (RuntimeException | IOException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            return new StudentExportDto(generation, format, StudentExportDto.Status.FAILED, null, null, String.valueOf(cause.getMessage()));
+        }
+    }
+
+    private Path write(Format format, Path file) {
+        Path part = file.resolveSibling(file.getFileName() + ".part");
+        long start = System.nanoTime();
+        try {
+            Files.createDirectories(directory);
+            try (OutputStream out = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(part)), 64 * 1024)) {
+                if (format == Format.CSV) writeCsv(out);
+                else writeNdjson(out);
+            }
+            Files.move(part, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Exported {} ({} bytes) in {} ms", file.getFileName(), Files.size(file), (System.nanoTime() - start) / 1_000_000);
+            deleteOldGenerations(format);
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            try {
+                Files.deleteIfExists(part);
+            } catch (IOException e) {
+                log.warn("Could not delete {}", part, e);
+            }
+        }
+    }
+
+    private void writeNdjson(OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(StudentDto.class);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            studentService.streamAllStudents(student -> {
+                try {
+                    writer.writeValue(generator, student);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    private void writeCsv(OutputStream out) throws IOException {
+        ObjectWriter writer = CSV_MAPPER.writerFor(StudentDto.class).with(CSV_MAPPER.schemaFor(StudentDto.class).withHeader());
+        try (SequenceWriter rows = writer.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET).writeValues(out)) {
+            studentService.streamAllStudents(student -> {
+                try {
+                    rows.write(student);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    private void deleteOldGenerations(Format format) throws IOException {
+        String prefix = "students-" + format.extension + "-";
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(path -> path.getFileName().toString().startsWith(prefix) && path.toString().endsWith(".gz"))
+                    .sorted(Comparator.comparing(StudentExportService::lastModified).reversed())
+                    .toList();
+        }
+        for (Path old : files.subList(Math.min(keepGenerations, files.size()), files.size())) {
+            String name = old.getFileName().toString();
+            generations.remove(name.substring("students-".length(), name.length() - ("." + format.extension + ".gz").length()));
+            Files.deleteIfExists(old);
+        }
+    }
+
+    private static long lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
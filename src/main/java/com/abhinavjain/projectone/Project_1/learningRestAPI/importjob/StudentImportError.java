@@ -0,0 +1,43 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.importjob;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A rejected row of an import: its 1-based row number in the file (header excluded) and why.
+ */
+@Entity
+@Table(name = "student_import_error", indexes = @Index(name = "idx_student_import_error_job_row", columnList = "jobId, rowNumber"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class StudentImportError {
+    // SEQUENCE so a chunk's errors are inserted in one JDBC batch
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "student_import_error_seq")
+    @SequenceGenerator(name = "student_import_error_seq", sequenceName = "student_import_error_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, length = 36)
+    private String jobId;
+
+    private long rowNumber;
+
+    @Column(nullable = false, length = 1024)
+    private String message;
+
+    public StudentImportError(String jobId, long rowNumber, String message) {
+        this.jobId = jobId;
+        this.rowNumber = rowNumber;
+        this.message = message.length() > 1024 ? message.substring(0, 1024) : message;
+    }
+}
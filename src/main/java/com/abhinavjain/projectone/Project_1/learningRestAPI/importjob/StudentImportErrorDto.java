@@ -0,0 +1,17 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.importjob;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StudentImportErrorDto {
+    private long rowNumber;
+    private String message;
+
+    static StudentImportErrorDto of(StudentImportError error) {
+        return new StudentImportErrorDto(error.getRowNumber(), error.getMessage());
+    }
+}
@@ -0,0 +1,16 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.importjob;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface StudentImportErrorRepository extends JpaRepository<StudentImportError, Long> {
+
+    /**
+     * Keyset page of a job's errors in file order.
+     */
+    List<StudentImportError> findByJobIdAndRowNumberGreaterThanOrderByRowNumberAsc(String jobId, long afterRow, Limit limit);
+}
@@ -0,0 +1,61 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.importjob;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * One uploaded file being imported by {@link StudentImportService}.
+ *
+ * The row counters are only changed in the transaction that writes a chunk, so they are
+ * also the checkpoint: a resumed job skips rowsProcessed rows of the file and continues.
+ */
+@Entity
+@Table(name = "student_import_job")
+@Getter
+@Setter
+public class StudentImportJob {
+
+    public enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    public enum Format { CSV, NDJSON }
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Format format;
+
+    // the upload on local disk, deleted once the job completes
+    @Column(nullable = false, length = 1024)
+    private String filePath;
+
+    private String fileName;
+    private long fileSize;
+
+    private long rowsProcessed;
+    private long rowsImported;
+    private long rowsFailed;
+
+    @Column(length = 1024)
+    private String error;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    private Instant updatedAt;
+    private Instant finishedAt;
+}
@@ -0,0 +1,31 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.importjob;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StudentImportJobDto {
+    private String id;
+    private StudentImportJob.Status status;
+    private StudentImportJob.Format format;
+    private String fileName;
+    private long fileSize;
+    private long rowsProcessed;
+    private long rowsImported;
+    private long rowsFailed;
+    private String error;
+    private Instant createdAt;
+    private Instant updatedAt;
+    private Instant finishedAt;
+
+    static StudentImportJobDto of(StudentImportJob job) {
+        return new StudentImportJobDto(job.getId(), job.getStatus(), job.getFormat(), job.getFileName(), job.getFileSize(),
+                job.getRowsProcessed(), job.getRowsImported(), job.getRowsFailed(), job.getError(),
+                job.getCreatedAt(), job.getUpdatedAt(), job.getFinishedAt());
+    }
+}
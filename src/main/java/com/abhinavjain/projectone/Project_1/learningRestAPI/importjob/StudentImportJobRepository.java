@@ -0,0 +1,33 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.importjob;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface StudentImportJobRepository extends JpaRepository<StudentImportJob, String> {
+
+    List<StudentImportJob> findByStatusIn(Collection<StudentImportJob.Status> statuses);
+
+    /**
+     * Moves the checkpoint forward; runs in the transaction that wrote the chunk.
+     */
+    @Modifying
+    @Query("update StudentImportJob j set j.rowsProcessed = j.rowsProcessed + :processed,"
+            + " j.rowsImported = j.rowsImported + :imported, j.rowsFailed = j.rowsFailed + :failed,"
+            + " j.updatedAt = :now where j.id = :id")
+    int addProgress(@Param("id") String id, @Param("processed") long processed, @Param("imported") long imported,
+                    @Param("failed") long failed, @Param("now") Instant now);
+
+    @Modifying
+    @Query("update StudentImportJob j set j.status = :status, j.error = :error, j.updatedAt = :now,"
+            + " j.finishedAt = :finishedAt where j.id = :id")
+    int updateStatus(@Param("id") String id, @Param("status") StudentImportJob.Status status, @Param("error") String error,
+                     @Param("now") Instant now, @Param("finishedAt") Instant finishedAt);
+}
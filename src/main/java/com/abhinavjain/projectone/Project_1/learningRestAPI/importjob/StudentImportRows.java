@@ -0,0 +1,140 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.importjob;
+
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.AddStudentRequestDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads an uploaded file one row at a time, so memory does not grow with the file.
+ *
+ * A row that cannot be parsed comes back with an error instead of stopping the import;
+ * only an unreadable file (I/O error, broken CSV quoting) fails the job.
+ */
+abstract class StudentImportRows implements Closeable {
+
+    /**
+     * @param rowNumber 1-based position in the file, header and blank lines excluded
+     * @param student   null when the row could not be parsed
+     * @param errors    empty for a valid row
+     */
+    record ImportRow(long rowNumber, AddStudentRequestDto student, List<String> errors) {
+
+        static ImportRow parsed(long rowNumber, AddStudentRequestDto student) {
+            return new ImportRow(rowNumber, student, List.of());
+        }
+
+        static ImportRow failed(long rowNumber, String error) {
+            return new ImportRow(rowNumber, null, List.of(error));
+        }
+
+        ImportRow withErrors(List<String> errors) {
+            return new ImportRow(rowNumber, student, errors);
+        }
+
+        boolean valid() {
+            return errors.isEmpty();
+        }
+    }
+
+    // header row required, columns matched by name (name,email), extra columns ignored
+    private static final ObjectReader CSV_ROWS = new CsvMapper()
+            .readerForMapOf(String.class)
+            .with(CsvSchema.emptySchema().withHeader())
+            .with(CsvParser.Feature.SKIP_EMPTY_LINES)
+            .with(CsvParser.Feature.TRIM_SPACES);
+
+    static StudentImportRows open(StudentImportJob.Format format, InputStream in, ObjectMapper objectMapper) throws IOException {
+        return switch (format) {
+            case CSV -> new Csv(CSV_ROWS.readValues(in));
+            case NDJSON -> new Ndjson(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)),
+                    objectMapper.readerFor(AddStudentRequestDto.class));
+        };
+    }
+
+    long rowNumber;
+
+    /**
+     * @return the next row, or null at the end of the file
+     */
+    abstract ImportRow next() throws IOException;
+
+    /**
+     * Skips rows a previous run already committed.
+     */
+    void skip(long rows) throws IOException {
+        while (rowNumber < rows) {
+            if (next() == null) return;
+        }
+    }
+
+    private static final class Csv extends StudentImportRows {
+
+        private final MappingIterator<Map<String, String>> rows;
+
+        Csv(MappingIterator<Map<String, String>> rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        ImportRow next() throws IOException {
+            if (!rows.hasNextValue()) return null;
+            // parsed as a map, so a bad value never desynchronizes the parser; validation reports it
+            Map<String, String> row = rows.nextValue();
+            AddStudentRequestDto student = new AddStudentRequestDto();
+            student.setName(row.get("name"));
+            student.setEmail(row.get("email"));
+            return ImportRow.parsed(++rowNumber, student);
+        }
+
+        @Override
+        public void close() throws IOException {
+            rows.close();
+        }
+    }
+
+    private static final class Ndjson extends StudentImportRows {
+
+        private final BufferedReader reader;
+        private final ObjectReader objectReader;
+
+        Ndjson(BufferedReader reader, ObjectReader objectReader) {
+            this.reader = reader;
+            this.objectReader = objectReader;
+        }
+
+        @Override
+        ImportRow next() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) return null;
+            } while (line.isBlank());
+            rowNumber++;
+            // one line per row: a malformed line only fails that row
+            try {
+                return ImportRow.parsed(rowNumber, objectReader.readValue(line));
+            } catch (JsonProcessingException e) {
+                return ImportRow.failed(rowNumber, "Invalid JSON: " + e.getOriginalMessage());
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+}
@@ -0,0 +1,326 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.importjob;
+
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.AddStudentRequestDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.entity.Student;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.importjob.StudentImportRows.ImportRow;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.mapper.StudentMapper;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.repository.StudentRepository;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.service.impl.StudentBatchWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Imports large CSV / NDJSON files of students in the background.
+ *
+ * The upload is written to import.directory and a job row is committed before the request
+ * returns 202, so nothing is lost if the process dies. Each job then runs a small pipeline:
+ * - read: the file is parsed one row at a time, chunk-size rows per chunk
+ * - validate: Bean Validation runs on the rows of a chunk in parallel (validation pool),
+ *   while the previous chunk is being written - at most two chunks are in memory
+ * - write: one transaction per chunk inserts the valid rows through StudentBatchWriter
+ *   (JDBC batches, outbox events included), stores the rejected rows and moves the job's
+ *   counters forward
+ *
+ * Because the counters commit with the rows, they are an exact checkpoint: a job left
+ * RUNNING by a crash is resumed at startup from the first uncommitted row, and a FAILED job
+ * can be resumed through the API once the cause is fixed.
+ */
+@Service
+public class StudentImportService implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(StudentImportService.class);
+
+    private final StudentImportJobRepository jobRepository;
+    private final StudentImportErrorRepository errorRepository;
+    private final StudentRepository studentRepository;
+    private final StudentBatchWriter studentBatchWriter;
+    private final StudentMapper studentMapper;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Path directory;
+    private final int chunkSize;
+    private final long maxStoredErrors;
+    private final boolean resumeOnStartup;
+
+    private final ExecutorService jobs;
+    private final ForkJoinPool validation;
+    private final Set<String> running = ConcurrentHashMap.newKeySet();
+    private volatile boolean stopping;
+
+    public StudentImportService(StudentImportJobRepository jobRepository, StudentImportErrorRepository errorRepository,
+                                StudentRepository studentRepository, StudentBatchWriter studentBatchWriter,
+                                StudentMapper studentMapper, Validator validator, ObjectMapper objectMapper,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${import.directory:${java.io.tmpdir}/student-imports}") String directory,
+                                @Value("${import.chunk-size:1000}") int chunkSize,
+                                @Value("${import.max-stored-errors:10000}") long maxStoredErrors,
+                                @Value("${import.max-concurrent-jobs:2}") int maxConcurrentJobs,
+                                @Value("${import.validation-parallelism:0}") int validationParallelism,
+                                @Value("${import.resume-on-startup:true}") boolean resumeOnStartup) {
+        this.jobRepository = jobRepository;
+        this.errorRepository = errorRepository;
+        this.studentRepository = studentRepository;
+        this.studentBatchWriter = studentBatchWriter;
+        this.studentMapper = studentMapper;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.directory = Path.of(directory);
+        this.chunkSize = chunkSize;
+        this.maxStoredErrors = maxStoredErrors;
+        this.resumeOnStartup = resumeOnStartup;
+        this.jobs = Executors.newFixedThreadPool(maxConcurrentJobs);
+        this.validation = new ForkJoinPool(validationParallelism > 0 ? validationParallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Stores the upload and queues a job for it.
+     *
+     * @param format csv or ndjson; when null it is taken from the file name or content type
+     */
+    public StudentImportJobDto submit(MultipartFile file, String format) throws IOException {
+        if (file.isEmpty()) throw new IllegalArgumentException("The uploaded file is empty");
+        StudentImportJob.Format resolved = resolveFormat(format, file.getOriginalFilename(), file.getContentType());
+        String id = UUID.randomUUID().toString();
+        Files.createDirectories(directory);
+        Path path = directory.resolve(id + "." + resolved.name().toLowerCase());
+        // moves the multipart temp file where possible, the upload is never held in memory
+        file.transferTo(path);
+
+        StudentImportJob job = new StudentImportJob();
+        job.setId(id);
+        job.setStatus(StudentImportJob.Status.QUEUED);
+        job.setFormat(resolved);
+        job.setFilePath(path.toAbsolutePath().toString());
+        job.setFileName(file.getOriginalFilename());
+        job.setFileSize(file.getSize());
+        job.setCreatedAt(Instant.now());
+        job.setUpdatedAt(job.getCreatedAt());
+        jobRepository.save(job);
+        start(id);
+        return StudentImportJobDto.of(job);
+    }
+
+    public Optional<StudentImportJobDto> find(String id) {
+        return jobRepository.findById(id).map(StudentImportJobDto::of);
+    }
+
+    public List<StudentImportErrorDto> errors(String id, long afterRow, int limit) {
+        return errorRepository.findByJobIdAndRowNumberGreaterThanOrderByRowNumberAsc(id, afterRow, Limit.of(Math.max(1, Math.min(limit, 1000))))
+                .stream().map(StudentImportErrorDto::of).toList();
+    }
+
+    /**
+     * Restarts a FAILED job from its checkpoint.
+     */
+    public Optional<StudentImportJobDto> resume(String id) {
+        Optional<StudentImportJob> job = jobRepository.findById(id);
+        job.ifPresent(found -> {
+            if (found.getStatus() == StudentImportJob.Status.COMPLETED) {
+                throw new IllegalArgumentException("Import " + id + " has already completed");
+            }
+            if (!Files.exists(Path.of(found.getFilePath()))) {
+                throw new IllegalArgumentException("The file of import " + id + " is no longer available");
+            }
+            start(id);
+        });
+        return find(id);
+    }
+
+    /**
+     * Jobs still QUEUED or RUNNING were interrupted by a restart: continue them.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterrupted() {
+        if (!resumeOnStartup) return;
+        for (StudentImportJob job : jobRepository.findByStatusIn(List.of(StudentImportJob.Status.QUEUED, StudentImportJob.Status.RUNNING))) {
+            log.info("Resuming import {} after row {}", job.getId(), job.getRowsProcessed());
+            start(job.getId());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        stopping = true;
+        jobs.shutdownNow();
+        validation.shutdownNow();
+    }
+
+    private void start(String id) {
+        // a job is run by at most one thread of this instance
+        if (!running.add(id)) return;
+        try {
+            jobs.execute(() -> {
+                try {
+                    run(id);
+                } finally {
+                    running.remove(id);
+                }
+            });
+        } catch (RuntimeException e) {
+            running.remove(id);
+            throw e;
+        }
+    }
+
+    private void run(String id) {
+        // read-write transaction: with read replicas, a replica may not have the new job row yet
+        StudentImportJob job = transactionTemplate.execute(status -> jobRepository.findById(id).orElse(null));
+        if (job == null) return;
+        setStatus(id, StudentImportJob.Status.RUNNING, null);
+        Path path = Path.of(job.getFilePath());
+        try (StudentImportRows rows = StudentImportRows.open(job.getFormat(), Files.newInputStream(path), objectMapper)) {
+            rows.skip(job.getRowsProcessed());
+            long storedErrors = job.getRowsFailed();
+            CompletableFuture<List<ImportRow>> next = readAhead(rows);
+            try {
+                for (List<ImportRow> chunk = next.join(); !chunk.isEmpty(); chunk = next.join()) {
+                    next = readAhead(rows);
+                    storedErrors = write(id, chunk, storedErrors);
+                }
+            } finally {
+                // the file is closed next, a read-ahead still running must finish first
+                next.exceptionally(e -> List.of()).join();
+            }
+            setStatus(id, StudentImportJob.Status.COMPLETED, null);
+            Files.deleteIfExists(path);
+            log.info("Import {} completed", id);
+        } catch (Exception e) {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            if (stopping) {
+                // left RUNNING: resumed from the checkpoint on the next start
+                log.info("Import {} interrupted by shutdown", id);
+                return;
+            }
+            log.warn("Import {} failed", id, cause);
+            setStatus(id, StudentImportJob.Status.FAILED, String.valueOf(cause.getMessage()));
+        }
+    }
+
+    private CompletableFuture<List<ImportRow>> readAhead(StudentImportRows rows) {
+        return CompletableFuture.supplyAsync(() -> readChunk(rows), validation);
+    }
+
+    private List<ImportRow> readChunk(StudentImportRows rows) {
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        try {
+            ImportRow row;
+            while (chunk.size() < chunkSize && (row = rows.next()) != null) {
+                chunk.add(row);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        // runs inside the validation pool, so the parallel stream uses its threads
+        List<ImportRow> validated = chunk.parallelStream().map(this::validate).toList();
+        return rejectDuplicateEmails(validated);
+    }
+
+    private ImportRow validate(ImportRow row) {
+        if (!row.valid()) return row;
+        if (row.student() == null) return row.withErrors(List.of("Row is empty"));
+        List<String> errors = validator.validate(row.student()).stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .toList();
+        return errors.isEmpty() ? row : row.withErrors(errors);
+    }
+
+    // the unique email index would fail the whole chunk, so repeats inside a chunk are rejected up front
+    private static List<ImportRow> rejectDuplicateEmails(List<ImportRow> chunk) {
+        Set<String> emails = new HashSet<>();
+        List<ImportRow> result = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk) {
+            if (row.valid() && !emails.add(row.student().getEmail())) {
+                row = row.withErrors(List.of("email: appears earlier in the file"));
+            }
+            result.add(row);
+        }
+        return result;
+    }
+
+    /**
+     * Writes one chunk and its checkpoint in a single transaction.
+     *
+     * @return errors stored for the job so far
+     */
+    private long write(String id, List<ImportRow> chunk, long storedErrors) {
+        List<String> emails = chunk.stream().filter(ImportRow::valid).map(row -> row.student().getEmail()).toList();
+        return transactionTemplate.execute(status -> {
+            // earlier chunks and other writers are committed, rows clashing with them are rejected here
+            Set<String> existing = emails.isEmpty() ? Set.of() : Set.copyOf(studentRepository.findExistingEmails(emails));
+            List<Student> students = new ArrayList<>(chunk.size());
+            List<StudentImportError> errors = new ArrayList<>();
+            long failed = 0;
+            long stored = storedErrors;
+            for (ImportRow row : chunk) {
+                List<String> rowErrors = row.errors();
+                AddStudentRequestDto student = row.student();
+                if (rowErrors.isEmpty() && existing.contains(student.getEmail())) {
+                    rowErrors = List.of("email: a student with this email already exists");
+                }
+                if (rowErrors.isEmpty()) {
+                    students.add(studentMapper.toEntity(student));
+                    continue;
+                }
+                failed++;
+                if (stored++ < maxStoredErrors) errors.add(new StudentImportError(id, row.rowNumber(), String.join("; ", rowErrors)));
+            }
+            studentBatchWriter.insertAll(students);
+            errorRepository.saveAll(errors);
+            jobRepository.addProgress(id, chunk.size(), students.size(), failed, Instant.now());
+            return stored;
+        });
+    }
+
+    private void setStatus(String id, StudentImportJob.Status status, String error) {
+        Instant now = Instant.now();
+        Instant finishedAt = status == StudentImportJob.Status.COMPLETED || status == StudentImportJob.Status.FAILED ? now : null;
+        transactionTemplate.executeWithoutResult(tx -> jobRepository.updateStatus(id, status, error, now, finishedAt));
+    }
+
+    static StudentImportJob.Format resolveFormat(String format, String fileName, String contentType) {
+        if (format != null) {
+            try {
+                return StudentImportJob.Format.valueOf(format.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown import format: " + format + " (expected csv or ndjson)");
+            }
+        }
+        String name = fileName == null ? "" : fileName.toLowerCase();
+        if (name.endsWith(".csv") || "text/csv".equals(contentType)) return StudentImportJob.Format.CSV;
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl") || "application/x-ndjson".equals(contentType)) {
+            return StudentImportJob.Format.NDJSON;
+        }
+        throw new IllegalArgumentException("Cannot tell the format of " + fileName + ", pass format=csv or format=ndjson");
+    }
+}
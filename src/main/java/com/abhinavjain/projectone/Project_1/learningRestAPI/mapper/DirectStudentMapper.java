@@ -0,0 +1,29 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.mapper;
+
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.AddStudentRequestDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.StudentDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.entity.Student;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Plain field-by-field mapping. The JIT can inline these calls completely and the only
+ * allocation per call is the target object itself.
+ */
+@Component
+@ConditionalOnProperty(name = "student.mapper", havingValue = "direct", matchIfMissing = true)
+public class DirectStudentMapper implements StudentMapper {
+
+    @Override
+    public StudentDto toDto(Student student) {
+        return new StudentDto(student.getId(), student.getName(), student.getEmail(), student.getVersion());
+    }
+
+    @Override
+    public Student toEntity(AddStudentRequestDto addStudentRequestDto) {
+        Student student = new Student();
+        student.setName(addStudentRequestDto.getName());
+        student.setEmail(addStudentRequestDto.getEmail());
+        return student;
+    }
+}
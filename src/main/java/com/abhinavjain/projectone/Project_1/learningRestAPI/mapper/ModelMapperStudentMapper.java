@@ -0,0 +1,30 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.mapper;
+
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.AddStudentRequestDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.StudentDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.entity.Student;
+import lombok.RequiredArgsConstructor;
+import org.modelmapper.ModelMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * The original reflective mapping, kept selectable with student.mapper=modelmapper.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "student.mapper", havingValue = "modelmapper")
+public class ModelMapperStudentMapper implements StudentMapper {
+
+    private final ModelMapper modelMapper;
+
+    @Override
+    public StudentDto toDto(Student student) {
+        return modelMapper.map(student, StudentDto.class);
+    }
+
+    @Override
+    public Student toEntity(AddStudentRequestDto addStudentRequestDto) {
+        return modelMapper.map(addStudentRequestDto, Student.class);
+    }
+}
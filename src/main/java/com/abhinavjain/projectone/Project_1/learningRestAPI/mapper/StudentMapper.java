@@ -0,0 +1,19 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.mapper;
+
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.AddStudentRequestDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.StudentDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.entity.Student;
+
+/**
+ * Converts between the Student entity and its DTOs.
+ *
+ * The implementation is picked with the student.mapper property:
+ * - direct (default): hand-written getters/setters, no reflection
+ * - modelmapper: the reflective ModelMapper bean from MapperConfig
+ */
+public interface StudentMapper {
+
+    StudentDto toDto(Student student);
+
+    Student toEntity(AddStudentRequestDto addStudentRequestDto);
+}
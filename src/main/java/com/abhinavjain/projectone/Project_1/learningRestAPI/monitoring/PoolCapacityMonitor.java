@@ -0,0 +1,102 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.monitoring;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Warns when more database-backed requests are in flight than the connection pool has connections.
+ *
+ * Only requests on db.pool.monitored-paths count: health probes, metric scrapes and static
+ * files never take a connection, and counting them would warn about a pool that is not short.
+ *
+ * Each request that touches the database needs a connection, so beyond the pool size requests
+ * queue inside Hikari (hikaricp.connections.pending) and their latency grows by the wait.
+ * That is expected during short bursts, but sustained it means the pool (or the thread count,
+ * with virtual threads there is no limit) needs tuning. The warning is logged at most once per
+ * db.pool.capacity-warning-interval; every occurrence is counted in db.pool.capacity.exceeded.
+ */
+@Component
+public class PoolCapacityMonitor extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(PoolCapacityMonitor.class);
+
+    private final HikariDataSource pool;
+    private final long warningIntervalNanos;
+    private final List<String> monitoredPaths;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Counter exceeded;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong lastWarning;
+
+    public PoolCapacityMonitor(DataSource dataSource, MeterRegistry meterRegistry,
+                               @Value("${db.pool.capacity-warning-interval:30s}") Duration warningInterval,
+                               @Value("${db.pool.monitored-paths:/students/**,/payments/**}") List<String> monitoredPaths) throws SQLException {
+        this.pool = dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        this.warningIntervalNanos = warningInterval.toNanos();
+        this.monitoredPaths = List.copyOf(monitoredPaths);
+        this.lastWarning = new AtomicLong(System.nanoTime() - warningIntervalNanos);
+        this.exceeded = Counter.builder("db.pool.capacity.exceeded")
+                .description("Requests that started while more requests than pool connections were in flight")
+                .register(meterRegistry);
+        Gauge.builder("db.pool.request.concurrency", inFlight, AtomicInteger::get)
+                .description("Requests in flight, to compare with hikaricp.connections.max")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (String pattern : monitoredPaths) {
+            if (pathMatcher.match(pattern, path)) return false;
+        }
+        return true;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        int current = inFlight.incrementAndGet();
+        try {
+            if (pool != null && current > pool.getMaximumPoolSize()) {
+                exceeded.increment();
+                warn(current);
+            }
+            filterChain.doFilter(request, response);
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private void warn(int current) {
+        long now = System.nanoTime();
+        long last = lastWarning.get();
+        if (now - last < warningIntervalNanos || !lastWarning.compareAndSet(last, now)) return;
+        HikariPoolMXBean stats = pool.getHikariPoolMXBean();
+        log.warn("Request concurrency exceeds connection pool capacity: pool={} inFlight={} maxPoolSize={} active={} idle={} pending={}",
+                pool.getPoolName(), current, pool.getMaximumPoolSize(),
+                stats == null ? -1 : stats.getActiveConnections(),
+                stats == null ? -1 : stats.getIdleConnections(),
+                stats == null ? -1 : stats.getThreadsAwaitingConnection());
+    }
+}
@@ -0,0 +1,73 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.monitoring;
+
+import com.abhinavjain.projectone.Project_1.learningRestAPI.service.StudentService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Structured slow-query log: statements slower than the threshold are logged (sampled) as
+ * key=value lines on the "sql.slow" logger, which logback-spring.xml sends through an
+ * AsyncAppender so the request thread never waits on log I/O.
+ *
+ * Each line has the statement fingerprint (normalized SQL hash, identical for every execution
+ * of the same query shape), duration, row count and the service method that issued it.
+ */
+public class SlowQueryLog implements SqlExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger("sql.slow");
+
+    private static final String SERVICE_PACKAGE = StudentService.class.getPackageName();
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final long thresholdNanos;
+    private final double sampleRate;
+
+    public SlowQueryLog(long thresholdMillis, double sampleRate) {
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public void onExecution(String sql, long elapsedNanos, long rows) {
+        if (elapsedNanos < thresholdNanos || !log.isInfoEnabled()) return;
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) return;
+        String normalized = normalize(sql);
+        log.info("fingerprint={} durationMs={} rows={} caller={} sql=\"{}\"",
+                fingerprint(normalized), elapsedNanos / 1_000_000.0, rows, caller(), normalized);
+    }
+
+    /**
+     * Lower-cased SQL with literals replaced by ? and IN lists collapsed, so every execution
+     * of one query shape normalizes to the same text.
+     */
+    static String normalize(String sql) {
+        if (sql == null) return "";
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = IN_LIST.matcher(normalized).replaceAll("(?+)");
+        return WHITESPACE.matcher(normalized).replaceAll(" ").trim().toLowerCase(Locale.ROOT);
+    }
+
+    static String fingerprint(String normalizedSql) {
+        return String.format("%08x", normalizedSql.hashCode());
+    }
+
+    // first service-layer frame on the stack, e.g. StudentServiceImpl.getAllStudents (proxies skipped)
+    private static String caller() {
+        return STACK_WALKER.walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(SERVICE_PACKAGE) && !frame.getClassName().contains("$$"))
+                .findFirst()
+                .map(frame -> frame.getClassName().substring(frame.getClassName().lastIndexOf('.') + 1) + "." + frame.getMethodName())
+                .orElse("unknown"));
+    }
+}
@@ -0,0 +1,15 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.monitoring;
+
+/**
+ * Called by {@link StatementTracingDataSource} after every executed JDBC statement.
+ */
+@FunctionalInterface
+public interface SqlExecutionListener {
+
+    /**
+     * @param sql          the statement text (with ? placeholders for prepared statements)
+     * @param elapsedNanos execution time of the statement
+     * @param rows         rows returned (queries) or affected (updates), -1 when unknown
+     */
+    void onExecution(String sql, long elapsedNanos, long rows);
+}
@@ -0,0 +1,44 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.monitoring;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Slow-query log and per-request statement budget, replacing spring.jpa.show-sql in production.
+ * Enabled with sql.monitoring.enabled=true (see application-prod.properties).
+ */
+@Configuration
+@ConditionalOnProperty(name = "sql.monitoring.enabled", havingValue = "true")
+public class SqlMonitoringConfig {
+
+    // static: BeanPostProcessors are created before regular beans
+    @Bean
+    public static BeanPostProcessor statementTracingDataSourcePostProcessor(Environment environment) {
+        SlowQueryLog slowQueryLog = new SlowQueryLog(
+                environment.getProperty("sql.slow-query-log.threshold-ms", Long.class, 200L),
+                environment.getProperty("sql.slow-query-log.sample-rate", Double.class, 1.0));
+        SqlExecutionListener listener = (sql, elapsedNanos, rows) -> {
+            StatementBudgetFilter.record(sql);
+            slowQueryLog.onExecution(sql, elapsedNanos, rows);
+        };
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof StatementTracingDataSource)) {
+                    return new StatementTracingDataSource(dataSource, listener);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public StatementBudgetFilter statementBudgetFilter(Environment environment) {
+        return new StatementBudgetFilter(environment.getProperty("sql.statement-budget.per-request", Integer.class, 20));
+    }
+}
@@ -0,0 +1,71 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.monitoring;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * Logs where startup time went once the application is ready: total time per startup phase
+ * (environment, context refresh, bean creation, web server, ...) and the slowest beans.
+ *
+ * Needs the BufferingApplicationStartup installed in Project1Application.main; the full
+ * timeline is also available from GET /actuator/startup.
+ */
+@Component
+public class StartupReport {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupReport.class);
+
+    private static final String BEAN_INSTANTIATE = "spring.beans.instantiate";
+
+    @Value("${startup.report.slowest-beans:10}")
+    private int slowestBeans;
+
+    @EventListener
+    public void onReady(ApplicationReadyEvent event) {
+        if (!(event.getApplicationContext().getApplicationStartup() instanceof BufferingApplicationStartup startup)) return;
+        StartupTimeline timeline = startup.getBufferedTimeline();
+
+        // steps nest (a bean's instantiation contains its dependencies'), so only top-level phases add up
+        Map<String, Duration> phases = new LinkedHashMap<>();
+        Map<String, Duration> beans = new LinkedHashMap<>();
+        for (StartupTimeline.TimelineEvent timelineEvent : timeline.getEvents()) {
+            StartupStep step = timelineEvent.getStartupStep();
+            if (step.getParentId() == null) {
+                phases.merge(step.getName(), timelineEvent.getDuration(), Duration::plus);
+            }
+            if (BEAN_INSTANTIATE.equals(step.getName())) {
+                beans.merge(beanName(step), timelineEvent.getDuration(), Duration::plus);
+            }
+        }
+
+        log.info("Started in {} ms, by phase:", event.getTimeTaken() == null ? -1 : event.getTimeTaken().toMillis());
+        phases.forEach((phase, duration) -> log.info("  phase {} {} ms", phase, duration.toMillis()));
+        log.info("Slowest beans (including their dependencies): {}", beans.entrySet().stream()
+                .sorted(Map.Entry.<String, Duration>comparingByValue(Comparator.reverseOrder()))
+                .limit(slowestBeans)
+                .map(entry -> entry.getKey() + "=" + entry.getValue().toMillis() + "ms")
+                .collect(Collectors.joining(", ")));
+    }
+
+    private static String beanName(StartupStep step) {
+        return StreamSupport.stream(step.getTags().spliterator(), false)
+                .filter(tag -> "beanName".equals(tag.getKey()))
+                .map(StartupStep.Tag::getValue)
+                .findFirst()
+                .orElse("?");
+    }
+}
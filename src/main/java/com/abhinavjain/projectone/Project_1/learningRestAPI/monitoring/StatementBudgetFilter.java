@@ -0,0 +1,60 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.monitoring;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Counts the SQL statements each request executes and warns (on the "sql.budget" logger)
+ * when a request goes over its budget. The most repeated statement is included, because
+ * one query shape executed once per row is what an N+1 pattern looks like.
+ */
+public class StatementBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger("sql.budget");
+
+    private static final ThreadLocal<Map<String, Integer>> CURRENT = new ThreadLocal<>();
+
+    private final int budget;
+
+    public StatementBudgetFilter(int budget) {
+        this.budget = budget;
+    }
+
+    /**
+     * Called for every executed statement; a no-op outside of a request.
+     */
+    public static void record(String sql) {
+        Map<String, Integer> statements = CURRENT.get();
+        if (statements != null) statements.merge(sql == null ? "" : sql, 1, Integer::sum);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Map<String, Integer> statements = new HashMap<>();
+        CURRENT.set(statements);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            CURRENT.remove();
+            int total = statements.values().stream().mapToInt(Integer::intValue).sum();
+            if (total > budget) {
+                Map.Entry<String, Integer> mostRepeated = statements.entrySet().stream()
+                        .max(Map.Entry.comparingByValue())
+                        .orElseThrow();
+                log.warn("statementBudgetExceeded method={} uri={} statements={} budget={} mostRepeatedCount={} mostRepeated=\"{}\"",
+                        request.getMethod(), request.getRequestURI(), total, budget,
+                        mostRepeated.getValue(), SlowQueryLog.normalize(mostRepeated.getKey()));
+            }
+        }
+    }
+}
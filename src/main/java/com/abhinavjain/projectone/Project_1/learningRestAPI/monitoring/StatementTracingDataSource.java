@@ -0,0 +1,120 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.monitoring;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Wraps a DataSource so every executed statement is reported to a {@link SqlExecutionListener}
+ * with its duration and row count.
+ *
+ * Connections, statements and result sets are JDK proxies; everything except execute* calls,
+ * ResultSet.next() and ResultSet.close() is passed straight through. Query rows are counted
+ * while the caller iterates and reported when the ResultSet is closed.
+ */
+public class StatementTracingDataSource extends DelegatingDataSource {
+
+    private final SqlExecutionListener listener;
+
+    public StatementTracingDataSource(DataSource targetDataSource, SqlExecutionListener listener) {
+        super(targetDataSource);
+        this.listener = listener;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxyConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxyConnection(super.getConnection(username, password));
+    }
+
+    private Connection proxyConnection(Connection connection) {
+        return proxy(Connection.class, connection, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            return switch (method.getName()) {
+                case "prepareCall" -> proxyStatement(CallableStatement.class, (CallableStatement) result, (String) args[0]);
+                case "prepareStatement" -> proxyStatement(PreparedStatement.class, (PreparedStatement) result, (String) args[0]);
+                case "createStatement" -> proxyStatement(Statement.class, (Statement) result, null);
+                default -> result;
+            };
+        });
+    }
+
+    private <S extends Statement> S proxyStatement(Class<S> type, S statement, String preparedSql) {
+        return proxy(type, statement, (proxy, method, args) -> {
+            if (!method.getName().startsWith("execute")) return invoke(statement, method, args);
+
+            String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+            long start = System.nanoTime();
+            Object result = invoke(statement, method, args);
+            long elapsed = System.nanoTime() - start;
+
+            if (result instanceof ResultSet resultSet) return proxyResultSet(resultSet, sql, elapsed);
+            listener.onExecution(sql, elapsed, rowCount(statement, result));
+            return result;
+        });
+    }
+
+    private ResultSet proxyResultSet(ResultSet resultSet, String sql, long elapsed) {
+        long[] rows = {0};
+        boolean[] reported = {false};
+        return proxy(ResultSet.class, resultSet, (proxy, method, args) -> {
+            Object result = invoke(resultSet, method, args);
+            if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                rows[0]++;
+            } else if (method.getName().equals("close") && !reported[0]) {
+                reported[0] = true;
+                listener.onExecution(sql, elapsed, rows[0]);
+            }
+            return result;
+        });
+    }
+
+    private static long rowCount(Statement statement, Object result) throws SQLException {
+        if (result instanceof Integer count) return count;
+        if (result instanceof Long count) return count;
+        if (result instanceof int[] counts) {
+            long total = 0;
+            for (int count : counts) if (count > 0) total += count;
+            return total;
+        }
+        if (result instanceof long[] counts) {
+            long total = 0;
+            for (long count : counts) if (count > 0) total += count;
+            return total;
+        }
+        // execute() returned false: the statement was an update
+        if (Boolean.FALSE.equals(result)) return statement.getUpdateCount();
+        return -1;
+    }
+
+    private static <T> T proxy(Class<T> type, T target, InvocationHandler handler) {
+        InvocationHandler withIdentity = (proxy, method, args) -> switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            default -> handler.invoke(proxy, method, args);
+        };
+        return type.cast(Proxy.newProxyInstance(StatementTracingDataSource.class.getClassLoader(), new Class<?>[]{type}, withIdentity));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Breaks StudentServiceImpl time down into phases, all under the student.service.phase timer:
+ * - phase=repository: database calls
+ * - phase=mapping: entity to DTO conversion
+ *
+ * Timers are registered once here so the hot path does not look them up per call.
+ */
+@Component
+public class StudentServiceMetrics {
+
+    private final Timer repository;
+    private final Timer mapping;
+
+    public StudentServiceMetrics(MeterRegistry meterRegistry) {
+        this.repository = phase(meterRegistry, "repository");
+        this.mapping = phase(meterRegistry, "mapping");
+    }
+
+    public <T> T repository(Supplier<T> work) {
+        return repository.record(work);
+    }
+
+    public void repository(Runnable work) {
+        repository.record(work);
+    }
+
+    public <T> T mapping(Supplier<T> work) {
+        return mapping.record(work);
+    }
+
+    private static Timer phase(MeterRegistry meterRegistry, String phase) {
+        return Timer.builder("student.service.phase")
+                .description("Time spent per phase inside StudentServiceImpl")
+                .tag("phase", phase)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,60 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.monitoring;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The regular Jackson converter, timing every response it writes (http.json.serialization,
+ * tagged with the supported media type that matched). The time includes copying into the
+ * response buffer.
+ *
+ * Timers are registered once per supported media type here so writing a response does not
+ * look them up in the registry.
+ */
+public class TimedMappingJackson2HttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final Map<MediaType, Timer> timers = new LinkedHashMap<>();
+
+    public TimedMappingJackson2HttpMessageConverter(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        super(objectMapper);
+        for (MediaType mediaType : getSupportedMediaTypes()) {
+            timers.put(mediaType, Timer.builder("http.json.serialization")
+                    .description("Time spent serializing JSON responses")
+                    .tag("mediaType", mediaType.toString())
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        long start = System.nanoTime();
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            timer(outputMessage.getHeaders().getContentType()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // application/json or application/*+json; anything else counts as the first one
+    private Timer timer(@Nullable MediaType contentType) {
+        Timer fallback = null;
+        for (Map.Entry<MediaType, Timer> entry : timers.entrySet()) {
+            if (contentType != null && entry.getKey().includes(contentType)) return entry.getValue();
+            if (fallback == null) fallback = entry.getValue();
+        }
+        return fallback;
+    }
+}
@@ -0,0 +1,29 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.outbox;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * One event of GET /students/changes. student is the stored JSON, written as-is
+ * (no parse and re-serialize per subscriber).
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StudentChangeDto {
+    private long offset;
+    private Long studentId;
+    private StudentChangeEvent.Type type;
+    private Instant occurredAt;
+    @JsonRawValue
+    private String student;
+
+    static StudentChangeDto of(StudentChangeEvent event) {
+        return new StudentChangeDto(event.getStreamOffset(), event.getStudentId(), event.getType(),
+                event.getCreatedAt(), event.getPayload());
+    }
+}
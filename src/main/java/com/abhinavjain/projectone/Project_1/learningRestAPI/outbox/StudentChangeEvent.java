@@ -0,0 +1,61 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.outbox;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Row of the transactional outbox: written in the same transaction as the student change.
+ *
+ * streamOffset is null until {@link StudentOutboxDispatcher} picks the row up. Offsets are
+ * assigned in the order rows become visible (committed), and a student's changes always get
+ * increasing offsets in the order of studentVersion. Ids cannot be used for that: a transaction
+ * can take an id and commit after a later one, and each instance takes ids in blocks of 50.
+ */
+@Entity
+@Table(name = "student_outbox", indexes = {
+        @Index(name = "ux_student_outbox_stream_offset", columnList = "streamOffset", unique = true),
+        @Index(name = "idx_student_outbox_created_at", columnList = "createdAt")
+})
+@Getter
+@Setter
+public class StudentChangeEvent {
+
+    public enum Type { CREATED, UPDATED, DELETED }
+
+    // SEQUENCE so the events of a bulk request are inserted in JDBC batches with the students
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "student_outbox_seq")
+    @SequenceGenerator(name = "student_outbox_seq", sequenceName = "student_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    private Long streamOffset;
+
+    @Column(nullable = false)
+    private Long studentId;
+
+    // version of the student after the change; null for DELETED, which is always its last change
+    private Long studentVersion;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Type type;
+
+    // StudentDto as JSON after the change, null for DELETED
+    @Column(length = 4096)
+    private String payload;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+}
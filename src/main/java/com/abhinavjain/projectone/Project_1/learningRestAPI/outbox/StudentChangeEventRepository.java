@@ -0,0 +1,40 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.outbox;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StudentChangeEventRepository extends JpaRepository<StudentChangeEvent, Long> {
+
+    /**
+     * Committed events still waiting for an offset, oldest first.
+     */
+    List<StudentChangeEvent> findByStreamOffsetIsNullOrderByIdAsc(Limit limit);
+
+    /**
+     * Every committed event of these students still waiting for an offset.
+     */
+    List<StudentChangeEvent> findByStreamOffsetIsNullAndStudentIdIn(Collection<Long> studentIds);
+
+    /**
+     * Events after the given offset, in stream order (uses the unique offset index).
+     */
+    List<StudentChangeEvent> findByStreamOffsetGreaterThanOrderByStreamOffsetAsc(long afterOffset, Limit limit);
+
+    @Query("select max(e.streamOffset) from StudentChangeEvent e")
+    Optional<Long> findMaxStreamOffset();
+
+    @Modifying
+    @Query("delete from StudentChangeEvent e where e.createdAt < :cutoff"
+            + " and e.streamOffset < (select max(x.streamOffset) from StudentChangeEvent x)")
+    int deleteDispatchedBefore(@Param("cutoff") Instant cutoff);
+}
@@ -0,0 +1,166 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.outbox;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Server-Sent Events subscribers of GET /students/changes.
+ *
+ * Each subscriber remembers the last offset it was sent. Batches from the dispatcher are
+ * sent straight from memory when they continue where the subscriber is; otherwise (a new
+ * subscriber resuming from an older offset, or one too slow to keep up) the missing
+ * offsets are first replayed from the outbox table, page by page. Sending happens on
+ * virtual threads, one drain at a time per subscriber, and only the newest unsent batch is
+ * kept in memory, so a slow client costs a table read instead of an unbounded queue.
+ */
+@Component
+public class StudentChangeStream implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(StudentChangeStream.class);
+
+    private static final int REPLAY_PAGE_SIZE = 500;
+
+    private final StudentChangeEventRepository repository;
+    // read-write: with read replicas enabled, a replica may not have the offsets already broadcast
+    private final TransactionTemplate transactionTemplate;
+    private final long timeoutMillis;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    public StudentChangeStream(StudentChangeEventRepository repository, PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${outbox.stream.timeout:30m}") Duration timeout) {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.timeoutMillis = timeout.toMillis();
+        Gauge.builder("student.changes.subscribers", subscribers, Set::size)
+                .description("Open GET /students/changes streams")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param afterOffset last offset the client has seen; null to receive only new changes
+     */
+    public SseEmitter subscribe(Long afterOffset) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, afterOffset);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        // an empty batch makes the subscriber replay everything after its offset
+        subscriber.offer(List.of());
+        return emitter;
+    }
+
+    /**
+     * Called by the dispatcher with consecutive offsets that have just been committed.
+     */
+    void publish(List<StudentChangeDto> batch) {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(batch);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        senders.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    private List<StudentChangeDto> readAfter(long afterOffset) {
+        return transactionTemplate.execute(status -> repository
+                .findByStreamOffsetGreaterThanOrderByStreamOffsetAsc(afterOffset, Limit.of(REPLAY_PAGE_SIZE))
+                .stream().map(StudentChangeDto::of).toList());
+    }
+
+    private long latestOffset() {
+        return transactionTemplate.execute(status -> repository.findMaxStreamOffset().orElse(0L));
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final AtomicReference<List<StudentChangeDto>> pending = new AtomicReference<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        // only touched by the thread holding "draining"
+        private Long lastOffset;
+        private boolean closed;
+
+        Subscriber(SseEmitter emitter, Long afterOffset) {
+            this.emitter = emitter;
+            this.lastOffset = afterOffset;
+        }
+
+        void offer(List<StudentChangeDto> batch) {
+            // replaces an unsent batch: its offsets are then replayed from the table
+            pending.set(batch);
+            if (draining.compareAndSet(false, true)) senders.execute(this::drain);
+        }
+
+        private void drain() {
+            while (true) {
+                List<StudentChangeDto> batch = pending.getAndSet(null);
+                if (batch == null) {
+                    draining.set(false);
+                    // a batch offered right after getAndSet but before set(false) would be stranded otherwise
+                    if (pending.get() == null || !draining.compareAndSet(false, true)) return;
+                    continue;
+                }
+                if (!closed) deliver(batch);
+            }
+        }
+
+        private void deliver(List<StudentChangeDto> batch) {
+            try {
+                if (lastOffset == null) lastOffset = latestOffset();
+                if (batch.isEmpty() || batch.get(0).getOffset() > lastOffset + 1) replay();
+                for (StudentChangeDto change : batch) {
+                    if (change.getOffset() > lastOffset) send(change);
+                }
+            } catch (IOException | RuntimeException e) {
+                log.debug("Closing change stream after offset {}: {}", lastOffset, e.toString());
+                closed = true;
+                subscribers.remove(this);
+                emitter.completeWithError(e);
+            }
+        }
+
+        private void replay() throws IOException {
+            List<StudentChangeDto> page;
+            do {
+                page = readAfter(lastOffset);
+                for (StudentChangeDto change : page) {
+                    send(change);
+                }
+            } while (page.size() == REPLAY_PAGE_SIZE);
+        }
+
+        private void send(StudentChangeDto change) throws IOException {
+            // the id comes back as Last-Event-ID when an EventSource reconnects
+            emitter.send(SseEmitter.event().id(Long.toString(change.getOffset())).data(change, MediaType.APPLICATION_JSON));
+            lastOffset = change.getOffset();
+        }
+    }
+}
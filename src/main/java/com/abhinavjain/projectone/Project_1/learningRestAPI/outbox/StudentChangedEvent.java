@@ -0,0 +1,11 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.outbox;
+
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.StudentDto;
+
+/**
+ * In-process notification of a student change, published inside the change's transaction.
+ *
+ * @param student the student after the change, null for DELETED
+ */
+public record StudentChangedEvent(StudentChangeEvent.Type type, Long studentId, StudentDto student) {
+}
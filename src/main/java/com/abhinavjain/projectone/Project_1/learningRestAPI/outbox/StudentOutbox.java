@@ -0,0 +1,66 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.outbox;
+
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.StudentDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * Records student changes in the outbox table.
+ *
+ * MANDATORY: the event must commit or roll back together with the change it describes,
+ * so calling this outside the change's transaction is a bug and fails fast.
+ * Nothing is sent here; the request only pays for one more batched INSERT.
+ *
+ * Each change is also published in-process as a {@link StudentChangedEvent}, for listeners
+ * that keep local state in sync (@TransactionalEventListener, after commit).
+ */
+@Component
+@RequiredArgsConstructor
+public class StudentOutbox {
+
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void created(StudentDto student) {
+        record(StudentChangeEvent.Type.CREATED, student.getId(), student);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void updated(StudentDto student) {
+        record(StudentChangeEvent.Type.UPDATED, student.getId(), student);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void deleted(Long studentId) {
+        record(StudentChangeEvent.Type.DELETED, studentId, null);
+    }
+
+    private void record(StudentChangeEvent.Type type, Long studentId, StudentDto student) {
+        StudentChangeEvent event = new StudentChangeEvent();
+        event.setType(type);
+        event.setStudentId(studentId);
+        event.setStudentVersion(student == null ? null : student.getVersion());
+        event.setPayload(student == null ? null : toJson(student));
+        event.setCreatedAt(Instant.now());
+        entityManager.persist(event);
+        eventPublisher.publishEvent(new StudentChangedEvent(type, studentId, student));
+    }
+
+    private String toJson(StudentDto student) {
+        try {
+            return objectMapper.writeValueAsString(student);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize student " + student.getId(), e);
+        }
+    }
+}
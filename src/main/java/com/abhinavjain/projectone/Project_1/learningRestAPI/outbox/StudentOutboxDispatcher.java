@@ -0,0 +1,156 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.outbox;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Moves outbox rows into the change stream, off the request path.
+ *
+ * Every dispatch-interval-ms it takes up to batch-size committed rows without an offset,
+ * numbers them after the last offset handed out (one UPDATE batch), and once that has
+ * committed hands the batch to {@link StudentChangeStream} for the live subscribers.
+ *
+ * Rows are taken in id order, which is not commit order, so each student's changes are
+ * numbered by studentVersion instead. When a batch holds some of a student's pending changes,
+ * the rest are pulled in as well, so an older change is never numbered after a newer one.
+ *
+ * The last offset lives in the {@link StudentOutboxHead} row, locked for the whole numbering
+ * transaction: a dispatcher on another instance waits for it and continues from the committed
+ * offset. Still, run it on one instance only (outbox.dispatcher.enabled=false elsewhere):
+ * batches are only pushed to the subscribers of the instance that numbered them, the others
+ * see them once their own dispatcher publishes and they replay the gap.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.dispatcher.enabled", havingValue = "true", matchIfMissing = true)
+public class StudentOutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(StudentOutboxDispatcher.class);
+
+    // a student's changes in the order they were made; DELETED (no version) is always the last
+    private static final Comparator<StudentChangeEvent> STUDENT_ORDER = Comparator
+            .comparing(StudentChangeEvent::getStudentVersion, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(StudentChangeEvent::getId);
+
+    private final StudentChangeEventRepository repository;
+    private final StudentOutboxHeadRepository headRepository;
+    private final StudentChangeStream stream;
+    // read-write: with read replicas enabled, read-only transactions may see a lagging copy
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration retention;
+
+    public StudentOutboxDispatcher(StudentChangeEventRepository repository, StudentOutboxHeadRepository headRepository,
+                                   StudentChangeStream stream,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${outbox.batch-size:500}") int batchSize,
+                                   @Value("${outbox.retention:7d}") Duration retention) {
+        this.repository = repository;
+        this.headRepository = headRepository;
+        this.stream = stream;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.retention = retention;
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.dispatch-interval-ms:100}")
+    public void dispatch() {
+        List<StudentChangeDto> batch;
+        do {
+            try {
+                batch = transactionTemplate.execute(status -> assignOffsets());
+            } catch (RuntimeException e) {
+                log.warn("Outbox dispatch failed, retrying on the next run", e);
+                return;
+            }
+            if (!batch.isEmpty()) stream.publish(batch);
+        } while (batch.size() >= batchSize);
+    }
+
+    private List<StudentChangeDto> assignOffsets() {
+        // locked first: rows read after it include everything the previous holder numbered
+        StudentOutboxHead head = lockHead();
+        List<StudentChangeEvent> pending = repository.findByStreamOffsetIsNullOrderByIdAsc(Limit.of(batchSize));
+        if (pending.isEmpty()) return List.of();
+        long offset = head.getLastOffset();
+        List<StudentChangeDto> batch = new ArrayList<>(pending.size());
+        for (StudentChangeEvent event : inStudentOrder(withAllChangesOfTheirStudents(pending))) {
+            event.setStreamOffset(++offset);
+            batch.add(StudentChangeDto.of(event));
+        }
+        head.setLastOffset(offset);
+        return batch;
+    }
+
+    private StudentOutboxHead lockHead() {
+        return headRepository.lockHead().orElseGet(() -> {
+            // no row yet (schema created without the migration): start after what is already numbered,
+            // then lock whichever dispatcher's row won
+            headRepository.insertIfAbsent(repository.findMaxStreamOffset().orElse(0L));
+            return headRepository.lockHead().orElseThrow();
+        });
+    }
+
+    private List<StudentChangeEvent> withAllChangesOfTheirStudents(List<StudentChangeEvent> pending) {
+        Set<Long> studentIds = new HashSet<>();
+        Set<Long> ids = new HashSet<>();
+        for (StudentChangeEvent event : pending) {
+            studentIds.add(event.getStudentId());
+            ids.add(event.getId());
+        }
+        List<StudentChangeEvent> all = new ArrayList<>(pending);
+        for (StudentChangeEvent event : repository.findByStreamOffsetIsNullAndStudentIdIn(studentIds)) {
+            if (ids.add(event.getId())) all.add(event);
+        }
+        all.sort(Comparator.comparing(StudentChangeEvent::getId));
+        return all;
+    }
+
+    /**
+     * Keeps the id order between students, but hands each student's positions to its changes
+     * in {@link #STUDENT_ORDER}.
+     */
+    private static List<StudentChangeEvent> inStudentOrder(List<StudentChangeEvent> byId) {
+        Map<Long, List<StudentChangeEvent>> byStudent = new HashMap<>();
+        for (StudentChangeEvent event : byId) {
+            byStudent.computeIfAbsent(event.getStudentId(), studentId -> new ArrayList<>()).add(event);
+        }
+        Map<Long, Iterator<StudentChangeEvent>> next = new HashMap<>();
+        byStudent.forEach((studentId, events) -> {
+            events.sort(STUDENT_ORDER);
+            next.put(studentId, events.iterator());
+        });
+        List<StudentChangeEvent> ordered = new ArrayList<>(byId.size());
+        for (StudentChangeEvent event : byId) {
+            ordered.add(next.get(event.getStudentId()).next());
+        }
+        return ordered;
+    }
+
+    /**
+     * Deletes dispatched events older than outbox.retention. The newest one is always kept
+     * so a missing head row can still be seeded from it.
+     */
+    @Scheduled(initialDelayString = "${outbox.cleanup-interval-ms:3600000}", fixedDelayString = "${outbox.cleanup-interval-ms:3600000}")
+    public void deleteExpired() {
+        Integer deleted = transactionTemplate.execute(status -> repository.deleteDispatchedBefore(Instant.now().minus(retention)));
+        if (deleted != null && deleted > 0) log.info("Deleted {} outbox events older than {}", deleted, retention);
+    }
+}
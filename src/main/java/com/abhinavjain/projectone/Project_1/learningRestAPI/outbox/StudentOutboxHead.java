@@ -0,0 +1,29 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.outbox;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * The single row holding the last offset handed out by {@link StudentOutboxDispatcher}.
+ *
+ * Every dispatch locks it before numbering rows, so dispatchers on several instances take
+ * turns and each continues from the offset the previous one committed.
+ */
+@Entity
+@Table(name = "student_outbox_head")
+@Getter
+@Setter
+public class StudentOutboxHead {
+
+    static final int ID = 1;
+
+    @Id
+    private Integer id;
+
+    @Column(nullable = false)
+    private Long lastOffset;
+}
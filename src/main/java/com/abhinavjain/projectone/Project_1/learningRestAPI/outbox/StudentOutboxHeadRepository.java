@@ -0,0 +1,33 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.outbox;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface StudentOutboxHeadRepository extends JpaRepository<StudentOutboxHead, Integer> {
+
+    /**
+     * Reads the head row with SELECT ... FOR UPDATE; a second dispatcher waits here until the
+     * first one's transaction ends and then reads the offset it committed.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select h from StudentOutboxHead h where h.id = " + StudentOutboxHead.ID)
+    Optional<StudentOutboxHead> lockHead();
+
+    /**
+     * Creates the head row unless it exists. Of two dispatchers seeding it at once, the second
+     * waits for the first and inserts nothing.
+     *
+     * @return 1 when this call created the row
+     */
+    @Modifying
+    @Query("insert into StudentOutboxHead (id, lastOffset) values (" + StudentOutboxHead.ID + ", :lastOffset) on conflict do nothing")
+    int insertIfAbsent(@Param("lastOffset") long lastOffset);
+}
@@ -0,0 +1,97 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.ratelimit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Caps the requests in flight with a limit that adapts to latency (AIMD):
+ * - a request faster than the target latency raises the limit by 1/limit (about +1 per
+ *   limit's worth of requests, i.e. additive increase)
+ * - a request slower than the target multiplies the limit by backoffRatio, at most once per
+ *   target latency so one slow burst does not collapse it (multiplicative decrease)
+ *
+ * Beyond the limit, requests are rejected right away instead of waiting for a thread and a
+ * database connection, which keeps latency near the target for the requests that are admitted.
+ *
+ * Priority: reads may only use (1 - writeReserve) of the limit, so writes still get in when
+ * reads alone saturate it.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetLatencyNanos;
+    private final double backoffRatio;
+    private final double writeReserve;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong limitBits;
+    private final AtomicLong lastDecrease = new AtomicLong(System.nanoTime());
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, long targetLatencyNanos,
+                                      double backoffRatio, double writeReserve) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("expected 1 <= minLimit <= initialLimit <= maxLimit");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetLatencyNanos = targetLatencyNanos;
+        this.backoffRatio = backoffRatio;
+        this.writeReserve = writeReserve;
+        this.limitBits = new AtomicLong(Double.doubleToLongBits(initialLimit));
+    }
+
+    /**
+     * @return true if the request may proceed; it must then call {@link #release(long)}
+     */
+    public boolean tryAcquire(boolean write) {
+        int limit = (int) limit();
+        int allowed = write ? limit : Math.max(1, (int) (limit * (1 - writeReserve)));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) return false;
+            if (inFlight.compareAndSet(current, current + 1)) return true;
+        }
+    }
+
+    /**
+     * @param latencyNanos how long the admitted request took
+     */
+    public void release(long latencyNanos) {
+        inFlight.decrementAndGet();
+        if (latencyNanos > targetLatencyNanos) {
+            long now = System.nanoTime();
+            long last = lastDecrease.get();
+            if (now - last >= targetLatencyNanos && lastDecrease.compareAndSet(last, now)) {
+                updateLimit(limit -> Math.max(minLimit, limit * backoffRatio));
+            }
+        } else {
+            updateLimit(limit -> Math.min(maxLimit, limit + 1 / limit));
+        }
+    }
+
+    /**
+     * Frees the slot of a request whose duration says nothing about load (e.g. a 10,000-row bulk
+     * call), without feeding its latency into the limit.
+     */
+    public void releaseUnmeasured() {
+        inFlight.decrementAndGet();
+    }
+
+    public double limit() {
+        return Double.longBitsToDouble(limitBits.get());
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    private void updateLimit(DoubleUnaryOperator update) {
+        while (true) {
+            long current = limitBits.get();
+            long next = Double.doubleToLongBits(update.applyAsDouble(Double.longBitsToDouble(current)));
+            if (current == next || limitBits.compareAndSet(current, next)) return;
+        }
+    }
+}
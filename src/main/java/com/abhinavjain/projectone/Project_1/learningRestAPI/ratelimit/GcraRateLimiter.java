@@ -0,0 +1,61 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-client token bucket, implemented as GCRA (generic cell rate algorithm).
+ *
+ * Instead of a token count plus a refill timestamp, each client has a single number: the
+ * theoretical arrival time (TAT) of its next request if it sent exactly at the allowed rate.
+ * A request is allowed when it is no more than burst intervals ahead of that schedule, and
+ * moves the TAT one interval forward. One AtomicLong per client is updated with a
+ * compare-and-set loop, so there are no locks and no background refill.
+ *
+ * Clients live in a bounded Caffeine map (striped internally) and are dropped once idle
+ * long enough that their bucket would be full again anyway.
+ */
+public class GcraRateLimiter {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final Cache<String, AtomicLong> theoreticalArrivals;
+
+    /**
+     * @param requestsPerSecond sustained rate per client
+     * @param burst             requests a client may send at once after being idle
+     * @param maxClients        clients tracked at most (least recently seen are dropped first)
+     */
+    public GcraRateLimiter(double requestsPerSecond, int burst, long maxClients) {
+        if (requestsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("requestsPerSecond and burst must be positive");
+        }
+        this.emissionIntervalNanos = (long) (1_000_000_000L / requestsPerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * burst;
+        this.theoreticalArrivals = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(Duration.ofNanos(burstToleranceNanos + emissionIntervalNanos))
+                .build();
+    }
+
+    /**
+     * @return 0 when the request is allowed, otherwise the nanoseconds until it would be
+     */
+    public long tryAcquire(String client) {
+        return tryAcquire(client, System.nanoTime());
+    }
+
+    long tryAcquire(String client, long now) {
+        AtomicLong theoreticalArrival = theoreticalArrivals.get(client, key -> new AtomicLong(now));
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, now) + emissionIntervalNanos;
+            long wait = next - now - burstToleranceNanos;
+            if (wait > 0) return wait;
+            if (theoreticalArrival.compareAndSet(current, next)) return 0;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.ratelimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Registers {@link RateLimitFilter} for /students and everything below it.
+ * Enabled with ratelimit.enabled=true.
+ *
+ * It runs right after the client is identified and Spring Boot's observation filter
+ * (HIGHEST_PRECEDENCE + 1), so 429 and 503 rejections still show up in http.server.requests,
+ * and before the idempotency filter and the pool monitor, so rejected requests cost no cache
+ * lookup, no body buffering and no connection.
+ */
+@Configuration
+@ConditionalOnProperty(name = "ratelimit.enabled", havingValue = "true")
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig {
+
+    @Bean
+    public AdaptiveConcurrencyLimiter studentConcurrencyLimiter(RateLimitProperties properties) {
+        RateLimitProperties.Concurrency concurrency = properties.concurrency();
+        return new AdaptiveConcurrencyLimiter(concurrency.initialLimit(), concurrency.minLimit(), concurrency.maxLimit(),
+                concurrency.targetLatency().toNanos(), concurrency.backoffRatio(), concurrency.writeReserve());
+    }
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(RateLimitProperties properties,
+                                                                   AdaptiveConcurrencyLimiter studentConcurrencyLimiter,
+                                                                   MeterRegistry meterRegistry) {
+        GcraRateLimiter readLimiter = new GcraRateLimiter(
+                properties.read().requestsPerSecond(), properties.read().burst(), properties.maxClients());
+        GcraRateLimiter writeLimiter = new GcraRateLimiter(
+                properties.write().requestsPerSecond(), properties.write().burst(), properties.maxClients());
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(
+                new RateLimitFilter(readLimiter, writeLimiter, studentConcurrencyLimiter,
+                        properties.concurrency().unmeasuredPaths(), properties.trustedProxies(), meterRegistry));
+        registration.addUrlPatterns("/students/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+}
@@ -0,0 +1,137 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.ratelimit;
+
+import com.abhinavjain.projectone.Project_1.learningRestAPI.datasource.ReadYourWritesFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control in front of StudentController, checked before the request takes a
+ * database connection:
+ * 1. per-client rate, separate buckets for reads and writes -> 429 Too Many Requests,
+ *    Retry-After = when the client's next request would pass
+ *    The client is the remote address. Only a trusted proxy (ratelimit.trusted-proxies) may name
+ *    another one in X-Client-Id: if any caller could, a fresh id per request would never be
+ *    limited, and a stream of made-up ids would push real clients' buckets out of the map.
+ * 2. adaptive concurrency limit for all clients, with a share reserved for writes
+ *    -> 503 Service Unavailable, Retry-After: 1
+ *
+ * Requests on unmeasured paths (bulk calls, imports, exports) take a slot like any other, but
+ * their duration is not a load signal: a 10,000-row bulk call is slow on an idle server, and
+ * counting it would shrink the limit and shed ordinary GETs.
+ *
+ * Rejections are counted in ratelimit.rejected (reason=rate|overload, priority=read|write).
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final GcraRateLimiter readLimiter;
+    private final GcraRateLimiter writeLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final List<String> unmeasuredPaths;
+    private final Set<String> trustedProxies;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Counter readRateLimited;
+    private final Counter writeRateLimited;
+    private final Counter readShed;
+    private final Counter writeShed;
+
+    public RateLimitFilter(GcraRateLimiter readLimiter, GcraRateLimiter writeLimiter,
+                           AdaptiveConcurrencyLimiter concurrencyLimiter, List<String> unmeasuredPaths,
+                           Set<String> trustedProxies, MeterRegistry meterRegistry) {
+        this.readLimiter = readLimiter;
+        this.writeLimiter = writeLimiter;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.unmeasuredPaths = List.copyOf(unmeasuredPaths);
+        this.trustedProxies = Set.copyOf(trustedProxies);
+        this.readRateLimited = rejected(meterRegistry, "rate", "read");
+        this.writeRateLimited = rejected(meterRegistry, "rate", "write");
+        this.readShed = rejected(meterRegistry, "overload", "read");
+        this.writeShed = rejected(meterRegistry, "overload", "write");
+        Gauge.builder("ratelimit.concurrency.limit", concurrencyLimiter, AdaptiveConcurrencyLimiter::limit)
+                .description("Current adaptive limit on /students requests in flight")
+                .register(meterRegistry);
+        Gauge.builder("ratelimit.concurrency.in-flight", concurrencyLimiter, AdaptiveConcurrencyLimiter::inFlight)
+                .description("Admitted /students requests in flight")
+                .register(meterRegistry);
+    }
+
+    private static Counter rejected(MeterRegistry meterRegistry, String reason, String priority) {
+        return Counter.builder("ratelimit.rejected")
+                .description("Requests rejected by the rate limiter or load shedder")
+                .tag("reason", reason)
+                .tag("priority", priority)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean write = isWrite(request.getMethod());
+        long waitNanos = (write ? writeLimiter : readLimiter).tryAcquire(clientId(request));
+        if (waitNanos > 0) {
+            (write ? writeRateLimited : readRateLimited).increment();
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, retryAfterSeconds(waitNanos));
+            return;
+        }
+        if (!concurrencyLimiter.tryAcquire(write)) {
+            (write ? writeShed : readShed).increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, 1);
+            return;
+        }
+        if (isUnmeasured(request)) {
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                concurrencyLimiter.releaseUnmeasured();
+            }
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            concurrencyLimiter.release(System.nanoTime() - start);
+        }
+    }
+
+    private boolean isUnmeasured(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (String pattern : unmeasuredPaths) {
+            if (pathMatcher.match(pattern, path)) return true;
+        }
+        return false;
+    }
+
+    private static boolean isWrite(String method) {
+        return !"GET".equals(method) && !"HEAD".equals(method) && !"OPTIONS".equals(method);
+    }
+
+    private String clientId(HttpServletRequest request) {
+        String remoteAddr = request.getRemoteAddr();
+        if (!trustedProxies.contains(remoteAddr)) return remoteAddr;
+        String client = request.getHeader(ReadYourWritesFilter.CLIENT_ID_HEADER);
+        return client == null || client.isBlank() ? remoteAddr : client;
+    }
+
+    private static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds) throws IOException {
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.sendError(status.value(), status.getReasonPhrase());
+    }
+}
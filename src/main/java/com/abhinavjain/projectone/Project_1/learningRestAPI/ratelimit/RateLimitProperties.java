@@ -0,0 +1,56 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * ratelimit.* settings.
+ *
+ * @param enabled     rate limit and shed load on /students/**
+ * @param read        per-client rate for GET/HEAD requests
+ * @param write       per-client rate for POST/PUT/PATCH/DELETE requests
+ * @param maxClients  clients whose buckets are tracked at once
+ * @param trustedProxies remote addresses allowed to name the client in X-Client-Id; requests from
+ *                       anywhere else are keyed on their remote address, whatever they send
+ * @param concurrency adaptive limit on requests in flight, shared by all clients
+ */
+@ConfigurationProperties("ratelimit")
+public record RateLimitProperties(boolean enabled,
+                                  @DefaultValue Bucket read,
+                                  @DefaultValue Bucket write,
+                                  @DefaultValue("100000") long maxClients,
+                                  @DefaultValue Set<String> trustedProxies,
+                                  @DefaultValue Concurrency concurrency) {
+
+    /**
+     * @param requestsPerSecond sustained rate per client
+     * @param burst             requests a client may send at once after being idle
+     */
+    public record Bucket(@DefaultValue("50") double requestsPerSecond,
+                         @DefaultValue("100") int burst) {
+    }
+
+    /**
+     * @param initialLimit  requests in flight allowed at startup
+     * @param minLimit      the limit never shrinks below this
+     * @param maxLimit      the limit never grows above this
+     * @param targetLatency requests slower than this shrink the limit, faster ones grow it
+     * @param backoffRatio  factor applied to the limit when a request is too slow
+     * @param writeReserve  share of the limit only writes may use
+     * @param unmeasuredPaths Ant patterns of requests that are slow by design (bulk calls, uploads,
+     *                        exports): they count as in flight, but their latency does not move the limit
+     */
+    public record Concurrency(@DefaultValue("20") int initialLimit,
+                              @DefaultValue("4") int minLimit,
+                              @DefaultValue("200") int maxLimit,
+                              @DefaultValue("250ms") Duration targetLatency,
+                              @DefaultValue("0.9") double backoffRatio,
+                              @DefaultValue("0.2") double writeReserve,
+                              @DefaultValue({"/students/bulk", "/students/stream", "/students/imports/**", "/students/exports/**"})
+                              List<String> unmeasuredPaths) {
+    }
+}
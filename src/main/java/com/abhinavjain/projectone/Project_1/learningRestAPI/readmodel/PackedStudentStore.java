@@ -0,0 +1,575 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.readmodel;
+
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.StudentDto;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * id -> (version, name, email) in a handful of primitive arrays instead of a Map of objects.
+ *
+ * - index: open addressing with linear probing over long[] keys and int[] offsets, so no
+ *   boxed Long keys and no entry objects; at most 2/3 full, deletes shift entries back
+ *   instead of leaving tombstones
+ * - data: one byte[] arena, each row packed as
+ *   [version: 8 bytes][name length: 2][name: UTF-8][email length: 2][email: UTF-8]
+ *   an update appends a new record and orphans the old one, the arena is compacted once
+ *   more than half of it is garbage
+ * - email and domain chains: rows with the same email (or the same domain after the last '@')
+ *   are linked through their slots, reached from a hash -> first id table, so exact-email and
+ *   domain searches walk only those rows instead of every slot
+ *
+ * Everything is guarded by one ReadWriteLock: lookups and searches run in parallel, writes
+ * (one per committed change) take the lock briefly. Ids must be positive, 0 marks a free slot.
+ */
+public class PackedStudentStore {
+
+    private static final long FREE = 0;
+    private static final int NULL_LENGTH = 0xFFFF;
+    private static final int MAX_TEXT_BYTES = NULL_LENGTH - 1;
+    private static final int MIN_COMPACTION_BYTES = 1 << 20;
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    /**
+     * Sizes of the structures, for comparing against other representations.
+     */
+    public record Stats(int rows, int indexSlots, long indexBytes, long dataCapacityBytes, long liveDataBytes, long garbageBytes) {
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long[] keys;
+    private int[] offsets;
+    private final Chain emailChain;
+    private final Chain domainChain;
+    private int size;
+    private byte[] data;
+    private int dataLength;
+    private long garbage;
+
+    public PackedStudentStore(int expectedRows) {
+        int slots = Integer.highestOneBit(Math.max(16, expectedRows * 3 / 2) - 1) << 1;
+        this.keys = new long[slots];
+        this.offsets = new int[slots];
+        this.emailChain = new Chain(slots);
+        this.domainChain = new Chain(slots);
+        this.data = new byte[(int) Math.max(1024, Math.min(Integer.MAX_VALUE - 8, expectedRows * 48L))];
+    }
+
+    public StudentDto get(long id) {
+        Lock read = lock.readLock();
+        read.lock();
+        try {
+            int slot = find(id);
+            return slot < 0 ? null : decode(id, offsets[slot]);
+        } finally {
+            read.unlock();
+        }
+    }
+
+    /**
+     * Inserts or replaces a row, unless the stored one has a newer version
+     * (a late event must not overwrite a later change).
+     *
+     * @return false if the row was older than the stored one
+     */
+    public boolean put(long id, long version, String name, String email) {
+        if (id <= 0) throw new IllegalArgumentException("Student id must be positive: " + id);
+        byte[] nameBytes = encode(name);
+        byte[] emailBytes = encode(email);
+        Lock write = lock.writeLock();
+        write.lock();
+        try {
+            int slot = find(id);
+            if (slot >= 0) {
+                if ((long) LONGS.get(data, offsets[slot]) > version) return false;
+                unlink(slot);
+                garbage += recordLength(offsets[slot]);
+                offsets[slot] = append(version, nameBytes, emailBytes);
+            } else {
+                if (size + 1 > keys.length / 3 * 2) resize(keys.length * 2);
+                int offset = append(version, nameBytes, emailBytes);
+                slot = insert(id, offset);
+                size++;
+            }
+            link(slot, id);
+            if (garbage > dataLength / 2 && dataLength > MIN_COMPACTION_BYTES) compact();
+            return true;
+        } finally {
+            write.unlock();
+        }
+    }
+
+    public boolean remove(long id) {
+        Lock write = lock.writeLock();
+        write.lock();
+        try {
+            int slot = find(id);
+            if (slot < 0) return false;
+            unlink(slot);
+            garbage += recordLength(offsets[slot]);
+            deleteSlot(slot);
+            size--;
+            return true;
+        } finally {
+            write.unlock();
+        }
+    }
+
+    /**
+     * Same matching as StudentRepository.search (case-sensitive, like SQL LIKE / =):
+     * name prefix or substring, exact email, email ending in "@domain".
+     * Compares the stored UTF-8 bytes directly, no String is built for rows that do not match.
+     * An exact email or a domain only visits the rows on its chain; name-only searches scan every slot.
+     *
+     * @return up to limit matching students with id > afterId, in id order
+     */
+    public List<StudentDto> search(String name, boolean nameContains, String email, String emailDomain, long afterId, int limit) {
+        byte[] nameBytes = hasText(name) ? name.getBytes(StandardCharsets.UTF_8) : null;
+        byte[] emailBytes = hasText(email) ? email.getBytes(StandardCharsets.UTF_8) : null;
+        byte[] domainBytes = hasText(emailDomain) ? ("@" + emailDomain).getBytes(StandardCharsets.UTF_8) : null;
+        Lock read = lock.readLock();
+        read.lock();
+        try {
+            // candidates come in hash order: keep the limit smallest matching ids in a max-heap
+            long[] heap = new long[Math.max(1, limit)];
+            int heapSize = 0;
+            if (emailBytes != null || (domainBytes != null && emailDomain.indexOf('@') < 0)) {
+                // a domain without '@' is exactly what follows the last '@' of every matching email
+                Chain chain = emailBytes != null ? emailChain : domainChain;
+                long hash = emailBytes != null ? hash(emailBytes, 0, emailBytes.length) : hash(domainBytes, 1, domainBytes.length);
+                for (long id = chain.first(hash); id != FREE; ) {
+                    int slot = find(id);
+                    heapSize = offer(heap, heapSize, limit, id, afterId, slot, nameBytes, nameContains, emailBytes, domainBytes);
+                    id = chain.next[slot];
+                }
+            } else {
+                for (int slot = 0; slot < keys.length; slot++) {
+                    long id = keys[slot];
+                    if (id == FREE) continue;
+                    heapSize = offer(heap, heapSize, limit, id, afterId, slot, nameBytes, nameContains, emailBytes, domainBytes);
+                }
+            }
+            long[] ids = Arrays.copyOf(heap, heapSize);
+            Arrays.sort(ids);
+            List<StudentDto> rows = new ArrayList<>(ids.length);
+            for (long id : ids) {
+                rows.add(decode(id, offsets[find(id)]));
+            }
+            return rows;
+        } finally {
+            read.unlock();
+        }
+    }
+
+    public int size() {
+        Lock read = lock.readLock();
+        read.lock();
+        try {
+            return size;
+        } finally {
+            read.unlock();
+        }
+    }
+
+    public Stats stats() {
+        Lock read = lock.readLock();
+        read.lock();
+        try {
+            long indexBytes = (long) keys.length * (Long.BYTES + Integer.BYTES) + emailChain.bytes() + domainChain.bytes();
+            return new Stats(size, keys.length, indexBytes, data.length, dataLength - garbage, garbage);
+        } finally {
+            read.unlock();
+        }
+    }
+
+    // adds id to the heap if it is one of the limit smallest matching ids after afterId
+    private int offer(long[] heap, int heapSize, int limit, long id, long afterId, int slot,
+                      byte[] name, boolean nameContains, byte[] email, byte[] domain) {
+        if (id <= afterId || (heapSize == limit && id >= heap[0])) return heapSize;
+        if (!matches(offsets[slot], name, nameContains, email, domain)) return heapSize;
+        if (heapSize < limit) siftUp(heap, heapSize++, id);
+        else siftDown(heap, heapSize, id);
+        return heapSize;
+    }
+
+    private boolean matches(int offset, byte[] name, boolean nameContains, byte[] email, byte[] domain) {
+        int nameLength = length(offset + 8);
+        int nameStart = offset + 10;
+        int emailLengthAt = nameStart + (nameLength == NULL_LENGTH ? 0 : nameLength);
+        int emailLength = length(emailLengthAt);
+        int emailStart = emailLengthAt + 2;
+        if (name != null) {
+            if (nameLength == NULL_LENGTH) return false;
+            boolean found = nameContains ? indexOf(nameStart, nameLength, name) >= 0 : startsWith(nameStart, nameLength, name);
+            if (!found) return false;
+        }
+        if (email != null || domain != null) {
+            if (emailLength == NULL_LENGTH) return false;
+            if (email != null && (emailLength != email.length || !startsWith(emailStart, emailLength, email))) return false;
+            if (domain != null && (emailLength < domain.length
+                    || !startsWith(emailStart + emailLength - domain.length, domain.length, domain))) return false;
+        }
+        return true;
+    }
+
+    private boolean startsWith(int start, int length, byte[] prefix) {
+        return length >= prefix.length && Arrays.equals(data, start, start + prefix.length, prefix, 0, prefix.length);
+    }
+
+    private int indexOf(int start, int length, byte[] needle) {
+        for (int i = 0; i <= length - needle.length; i++) {
+            if (Arrays.equals(data, start + i, start + i + needle.length, needle, 0, needle.length)) return i;
+        }
+        return -1;
+    }
+
+    private StudentDto decode(long id, int offset) {
+        long version = (long) LONGS.get(data, offset);
+        int nameLength = length(offset + 8);
+        String name = nameLength == NULL_LENGTH ? null : new String(data, offset + 10, nameLength, StandardCharsets.UTF_8);
+        int emailLengthAt = offset + 10 + (nameLength == NULL_LENGTH ? 0 : nameLength);
+        int emailLength = length(emailLengthAt);
+        String email = emailLength == NULL_LENGTH ? null : new String(data, emailLengthAt + 2, emailLength, StandardCharsets.UTF_8);
+        return new StudentDto(id, name, email, version);
+    }
+
+    private static byte[] encode(String value) {
+        if (value == null) return null;
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_TEXT_BYTES) throw new IllegalArgumentException("Value longer than " + MAX_TEXT_BYTES + " bytes");
+        return bytes;
+    }
+
+    private int append(long version, byte[] name, byte[] email) {
+        int length = 12 + (name == null ? 0 : name.length) + (email == null ? 0 : email.length);
+        ensureCapacity(length);
+        int offset = dataLength;
+        LONGS.set(data, offset, version);
+        int at = writeText(offset + 8, name);
+        writeText(at, email);
+        dataLength += length;
+        return offset;
+    }
+
+    private int writeText(int at, byte[] text) {
+        int length = text == null ? NULL_LENGTH : text.length;
+        data[at] = (byte) (length >>> 8);
+        data[at + 1] = (byte) length;
+        if (text == null) return at + 2;
+        System.arraycopy(text, 0, data, at + 2, text.length);
+        return at + 2 + text.length;
+    }
+
+    private int length(int at) {
+        return ((data[at] & 0xFF) << 8) | (data[at + 1] & 0xFF);
+    }
+
+    private int recordLength(int offset) {
+        int nameLength = length(offset + 8);
+        int emailLengthAt = offset + 10 + (nameLength == NULL_LENGTH ? 0 : nameLength);
+        int emailLength = length(emailLengthAt);
+        return emailLengthAt + 2 + (emailLength == NULL_LENGTH ? 0 : emailLength) - offset;
+    }
+
+    private void link(int slot, long id) {
+        int offset = offsets[slot];
+        int emailLengthAt = emailLengthAt(offset);
+        int emailLength = length(emailLengthAt);
+        if (emailLength == NULL_LENGTH) return;
+        int emailStart = emailLengthAt + 2;
+        emailChain.link(slot, id, hash(data, emailStart, emailStart + emailLength));
+        int at = lastAt(emailStart, emailLength);
+        if (at >= 0) domainChain.link(slot, id, hash(data, at + 1, emailStart + emailLength));
+    }
+
+    // must run while offsets[slot] still points at the record the row was linked with
+    private void unlink(int slot) {
+        int offset = offsets[slot];
+        int emailLengthAt = emailLengthAt(offset);
+        int emailLength = length(emailLengthAt);
+        if (emailLength == NULL_LENGTH) return;
+        int emailStart = emailLengthAt + 2;
+        emailChain.unlink(slot, hash(data, emailStart, emailStart + emailLength));
+        int at = lastAt(emailStart, emailLength);
+        if (at >= 0) domainChain.unlink(slot, hash(data, at + 1, emailStart + emailLength));
+    }
+
+    private int emailLengthAt(int offset) {
+        int nameLength = length(offset + 8);
+        return offset + 10 + (nameLength == NULL_LENGTH ? 0 : nameLength);
+    }
+
+    private int lastAt(int start, int length) {
+        for (int i = start + length - 1; i >= start; i--) {
+            if (data[i] == '@') return i;
+        }
+        return -1;
+    }
+
+    // FNV-1a over the UTF-8 bytes, with the high bits folded down for the table index
+    private static long hash(byte[] bytes, int from, int to) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = from; i < to; i++) {
+            hash = (hash ^ (bytes[i] & 0xFF)) * 0x100000001B3L;
+        }
+        return hash ^ (hash >>> 32);
+    }
+
+    private void ensureCapacity(int extra) {
+        long needed = (long) dataLength + extra;
+        if (needed <= data.length) return;
+        long grown = Math.max(needed, data.length + (data.length >> 1));
+        if (needed > Integer.MAX_VALUE - 8) throw new IllegalStateException("Read model data exceeds 2GB");
+        data = Arrays.copyOf(data, (int) Math.min(grown, Integer.MAX_VALUE - 8));
+    }
+
+    // copies the live records into a fresh arena; garbage is dropped
+    private void compact() {
+        byte[] compacted = new byte[Math.max(1024, (int) ((dataLength - garbage) * 3 / 2))];
+        int length = 0;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] == FREE) continue;
+            int recordLength = recordLength(offsets[slot]);
+            System.arraycopy(data, offsets[slot], compacted, length, recordLength);
+            offsets[slot] = length;
+            length += recordLength;
+        }
+        data = compacted;
+        dataLength = length;
+        garbage = 0;
+    }
+
+    private int home(long id) {
+        long hash = id * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & (keys.length - 1);
+    }
+
+    private int find(long id) {
+        int mask = keys.length - 1;
+        for (int slot = home(id); ; slot = (slot + 1) & mask) {
+            long key = keys[slot];
+            if (key == id) return slot;
+            if (key == FREE) return -1;
+        }
+    }
+
+    private int insert(long id, int offset) {
+        int mask = keys.length - 1;
+        int slot = home(id);
+        while (keys[slot] != FREE) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = id;
+        offsets[slot] = offset;
+        return slot;
+    }
+
+    // backward-shift deletion: moves later entries of the probe run into the hole
+    private void deleteSlot(int slot) {
+        int mask = keys.length - 1;
+        int hole = slot;
+        for (int next = (hole + 1) & mask; keys[next] != FREE; next = (next + 1) & mask) {
+            int home = home(keys[next]);
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                offsets[hole] = offsets[next];
+                emailChain.move(next, hole);
+                domainChain.move(next, hole);
+                hole = next;
+            }
+        }
+        keys[hole] = FREE;
+        offsets[hole] = 0;
+        emailChain.clear(hole);
+        domainChain.clear(hole);
+    }
+
+    private void resize(int slots) {
+        long[] oldKeys = keys;
+        int[] oldOffsets = offsets;
+        keys = new long[slots];
+        offsets = new int[slots];
+        Chain.Links oldEmailLinks = emailChain.resize(slots);
+        Chain.Links oldDomainLinks = domainChain.resize(slots);
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldKeys[slot] == FREE) continue;
+            int moved = insert(oldKeys[slot], oldOffsets[slot]);
+            emailChain.copy(oldEmailLinks, slot, moved);
+            domainChain.copy(oldDomainLinks, slot, moved);
+        }
+    }
+
+    private static void siftUp(long[] heap, int index, long id) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heap[parent] >= id) break;
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = id;
+    }
+
+    // replaces the largest id (the root) with a smaller one
+    private static void siftDown(long[] heap, int size, long id) {
+        int index = 0;
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) break;
+            if (child + 1 < size && heap[child + 1] > heap[child]) child++;
+            if (heap[child] <= id) break;
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = id;
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    /**
+     * Doubly linked lists of ids sharing a key hash. next/prev are parallel to keys[] (they move
+     * with their row), heads maps a hash to the first id of its list. Different keys with the same
+     * hash share a list; search re-checks every row, so that only costs a few extra visits.
+     */
+    private final class Chain {
+
+        record Links(long[] next, long[] prev) {
+        }
+
+        private long[] next;
+        private long[] prev;
+        private long[] headHashes = new long[16];
+        private long[] headIds = new long[16];
+        private int heads;
+
+        Chain(int slots) {
+            this.next = new long[slots];
+            this.prev = new long[slots];
+        }
+
+        long first(long hash) {
+            int head = findHead(hash);
+            return head < 0 ? FREE : headIds[head];
+        }
+
+        // pushes the row in front of its list
+        void link(int slot, long id, long hash) {
+            int head = findHead(hash);
+            prev[slot] = FREE;
+            if (head < 0) {
+                next[slot] = FREE;
+                addHead(hash, id);
+            } else {
+                long first = headIds[head];
+                next[slot] = first;
+                prev[find(first)] = id;
+                headIds[head] = id;
+            }
+        }
+
+        void unlink(int slot, long hash) {
+            long before = prev[slot];
+            long after = next[slot];
+            if (after != FREE) prev[find(after)] = before;
+            if (before != FREE) {
+                next[find(before)] = after;
+            } else {
+                int head = findHead(hash);
+                if (after == FREE) deleteHead(head);
+                else headIds[head] = after;
+            }
+            clear(slot);
+        }
+
+        void move(int from, int to) {
+            next[to] = next[from];
+            prev[to] = prev[from];
+        }
+
+        void clear(int slot) {
+            next[slot] = FREE;
+            prev[slot] = FREE;
+        }
+
+        Links resize(int slots) {
+            Links old = new Links(next, prev);
+            next = new long[slots];
+            prev = new long[slots];
+            return old;
+        }
+
+        void copy(Links old, int from, int to) {
+            next[to] = old.next()[from];
+            prev[to] = old.prev()[from];
+        }
+
+        long bytes() {
+            return (long) next.length * 2 * Long.BYTES + (long) headIds.length * 2 * Long.BYTES;
+        }
+
+        private int headHome(long hash) {
+            return (int) hash & (headIds.length - 1);
+        }
+
+        private int findHead(long hash) {
+            int mask = headIds.length - 1;
+            for (int head = headHome(hash); headIds[head] != FREE; head = (head + 1) & mask) {
+                if (headHashes[head] == hash) return head;
+            }
+            return -1;
+        }
+
+        private void addHead(long hash, long id) {
+            if (heads + 1 > headIds.length / 3 * 2) resizeHeads(headIds.length * 2);
+            insertHead(hash, id);
+            heads++;
+        }
+
+        private void insertHead(long hash, long id) {
+            int mask = headIds.length - 1;
+            int head = headHome(hash);
+            while (headIds[head] != FREE) {
+                head = (head + 1) & mask;
+            }
+            headHashes[head] = hash;
+            headIds[head] = id;
+        }
+
+        // backward-shift deletion, as for the id index
+        private void deleteHead(int head) {
+            int mask = headIds.length - 1;
+            int hole = head;
+            for (int next = (hole + 1) & mask; headIds[next] != FREE; next = (next + 1) & mask) {
+                int home = headHome(headHashes[next]);
+                if (((next - home) & mask) >= ((next - hole) & mask)) {
+                    headHashes[hole] = headHashes[next];
+                    headIds[hole] = headIds[next];
+                    hole = next;
+                }
+            }
+            headHashes[hole] = 0;
+            headIds[hole] = FREE;
+            heads--;
+        }
+
+        private void resizeHeads(int slots) {
+            long[] oldHashes = headHashes;
+            long[] oldIds = headIds;
+            headHashes = new long[slots];
+            headIds = new long[slots];
+            for (int head = 0; head < oldIds.length; head++) {
+                if (oldIds[head] != FREE) insertHead(oldHashes[head], oldIds[head]);
+            }
+        }
+    }
+}
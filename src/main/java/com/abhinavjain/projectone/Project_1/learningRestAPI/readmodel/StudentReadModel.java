@@ -0,0 +1,205 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.readmodel;
+
+import com.abhinavjain.projectone.Project_1.learningRestAPI.datasource.PrimaryReads;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.StudentDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.outbox.StudentChangeEvent;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.outbox.StudentChangeEventRepository;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.outbox.StudentChangedEvent;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.service.impl.StudentServiceImpl;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps a {@link PackedStudentStore} equal to the student table. Enabled with readmodel.enabled=true.
+ *
+ * - warm-up: after startup every row is streamed in from the primary on a background thread;
+ *   until it is done, {@link #isReady()} is false and reads go to the database
+ * - local sync: every committed create/update/delete of this instance is applied after commit,
+ *   before the writing request returns, so a client reads its own writes
+ * - outbox sync: after warm-up, the change stream (student_outbox, by offset, starting at the
+ *   last offset before warm-up) is polled every readmodel.sync-interval-ms, so the changes of
+ *   every instance arrive as well. This needs an outbox dispatcher running on some instance.
+ *
+ * A change may arrive twice (locally and from the outbox) and races with the row being
+ * streamed during warm-up: versions keep the newest update. Ids deleted locally are remembered
+ * until their DELETED event comes through the outbox, which numbers it after all of that
+ * student's earlier changes, so neither warm-up nor an older outbox event brings them back.
+ */
+@Component
+@ConditionalOnProperty(name = "readmodel.enabled", havingValue = "true")
+public class StudentReadModel {
+
+    private static final Logger log = LoggerFactory.getLogger(StudentReadModel.class);
+
+    // one StudentDto in the "students" Caffeine cache, 64-bit JVM with compressed oops and compact strings:
+    // boxed Long key 16 + ConcurrentHashMap node 32 + table slot ~8 + Caffeine node ~56,
+    // StudentDto 32 + boxed id and version 2 * 16, two Strings 2 * 24 + their byte[] headers 2 * 16 (+ ~8 alignment)
+    private static final int CACHED_DTO_OVERHEAD_BYTES = 16 + 32 + 8 + 56 + 32 + 2 * 16 + 2 * 24 + 2 * 16 + 8;
+    // per packed record: version 8 + two length prefixes 2 * 2
+    private static final int PACKED_RECORD_HEADER_BYTES = 12;
+    private static final int SYNC_PAGE_SIZE = 500;
+
+    private final StudentServiceImpl studentService;
+    private final StudentChangeEventRepository changes;
+    // read-write: with read replicas enabled, a replica may not have the offsets already dispatched
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final PackedStudentStore store;
+    private final Set<Long> deletedDuringWarmUp = ConcurrentHashMap.newKeySet();
+    // deleted by this instance, DELETED event not yet seen in the outbox
+    private final Set<Long> deletedAhead = ConcurrentHashMap.newKeySet();
+    private volatile boolean warming = true;
+    private volatile boolean ready;
+    // last outbox offset applied; set before warm-up, then only used by the sync thread
+    private volatile long lastOffset;
+
+    public StudentReadModel(StudentServiceImpl studentService, StudentChangeEventRepository changes,
+                            PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+                            @Value("${readmodel.expected-rows:100000}") int expectedRows) {
+        this.studentService = studentService;
+        this.changes = changes;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.store = new PackedStudentStore(expectedRows);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public StudentDto get(long id) {
+        return store.get(id);
+    }
+
+    public List<StudentDto> search(String name, boolean nameContains, String email, String emailDomain, long afterId, int limit) {
+        return store.search(name, nameContains, email, emailDomain, afterId, limit);
+    }
+
+    public PackedStudentStore.Stats stats() {
+        return store.stats();
+    }
+
+    /**
+     * Memory per row of the packed store, next to an estimate for the same rows held as
+     * StudentDto objects in the Caffeine entity cache (same text, Latin-1/ASCII assumed).
+     */
+    public Map<String, Object> memoryReport() {
+        PackedStudentStore.Stats stats = store.stats();
+        int rows = Math.max(1, stats.rows());
+        long textBytes = stats.liveDataBytes() - (long) stats.rows() * PACKED_RECORD_HEADER_BYTES;
+        long packedBytes = stats.indexBytes() + stats.dataCapacityBytes();
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("ready", ready);
+        report.put("rows", stats.rows());
+        report.put("indexSlots", stats.indexSlots());
+        report.put("indexBytes", stats.indexBytes());
+        report.put("dataCapacityBytes", stats.dataCapacityBytes());
+        report.put("liveDataBytes", stats.liveDataBytes());
+        report.put("garbageBytes", stats.garbageBytes());
+        report.put("bytesPerRow", packedBytes / rows);
+        report.put("entityCacheBytesPerRowEstimate", CACHED_DTO_OVERHEAD_BYTES + textBytes / rows);
+        return report;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startWarmUp() {
+        Thread.ofVirtual().name("student-read-model-warm-up").start(this::warmUp);
+    }
+
+    private void warmUp() {
+        long start = System.nanoTime();
+        try {
+            // read first: every change after it is applied by the outbox sync, changes before it are in the rows
+            lastOffset = transactionTemplate.execute(status -> changes.findMaxStreamOffset().orElse(0L));
+            // a lagging replica could miss changes numbered before lastOffset
+            PrimaryReads.call(() -> {
+                studentService.streamAllStudents(student -> {
+                    synchronized (this) {
+                        if (!deletedDuringWarmUp.contains(student.getId())) put(student);
+                    }
+                });
+                return null;
+            });
+            warming = false;
+            deletedDuringWarmUp.clear();
+            ready = true;
+            log.info("Student read model warmed up: {} rows in {} ms", store.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Student read model warm-up failed, reads keep going to the database", e);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onStudentChanged(StudentChangedEvent event) {
+        if (event.type() != StudentChangeEvent.Type.DELETED) {
+            put(event.student());
+            return;
+        }
+        synchronized (this) {
+            if (warming) deletedDuringWarmUp.add(event.studentId());
+            deletedAhead.add(event.studentId());
+            store.remove(event.studentId());
+        }
+    }
+
+    /**
+     * Applies the changes of every instance from the outbox, in offset order.
+     */
+    @Scheduled(fixedDelayString = "${readmodel.sync-interval-ms:200}")
+    public void syncFromOutbox() {
+        if (!ready) return;
+        try {
+            List<StudentChangeEvent> page;
+            do {
+                long after = lastOffset;
+                page = transactionTemplate.execute(status ->
+                        changes.findByStreamOffsetGreaterThanOrderByStreamOffsetAsc(after, Limit.of(SYNC_PAGE_SIZE)));
+                for (StudentChangeEvent change : page) {
+                    apply(change);
+                    lastOffset = change.getStreamOffset();
+                }
+            } while (page.size() == SYNC_PAGE_SIZE);
+        } catch (RuntimeException e) {
+            log.warn("Student read model sync failed after offset {}, retrying on the next run", lastOffset, e);
+        }
+    }
+
+    private synchronized void apply(StudentChangeEvent change) {
+        if (change.getType() == StudentChangeEvent.Type.DELETED) {
+            store.remove(change.getStudentId());
+            deletedAhead.remove(change.getStudentId());
+        } else if (!deletedAhead.contains(change.getStudentId())) {
+            put(toDto(change.getPayload()));
+        }
+    }
+
+    private StudentDto toDto(String payload) {
+        try {
+            return objectMapper.readValue(payload, StudentDto.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable outbox payload: " + payload, e);
+        }
+    }
+
+    private void put(StudentDto student) {
+        store.put(student.getId(), student.getVersion() == null ? 0 : student.getVersion(), student.getName(), student.getEmail());
+    }
+}
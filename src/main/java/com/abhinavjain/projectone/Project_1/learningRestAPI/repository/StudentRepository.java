@@ -1,9 +1,52 @@
 package com.abhinavjain.projectone.Project_1.learningRestAPI.repository;
 
 import com.abhinavjain.projectone.Project_1.learningRestAPI.entity.Student;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
-public interface StudentRepository extends JpaRepository<Student,Long> {
+public interface StudentRepository extends JpaRepository<Student,Long>, StudentRepositoryCustom {
+
+    /**
+     * Keyset page: uses the primary key index instead of OFFSET, so page N costs the same as page 1.
+     */
+    List<Student> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    /**
+     * Server-side cursor over the whole table. Must be consumed inside a (read-only) transaction
+     * and closed by the caller.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select s from Student s order by s.id")
+    Stream<Student> streamAllOrderedById();
+
+    @Query("select s.id from Student s where s.id in :ids")
+    List<Long> findExistingIds(Collection<Long> ids);
+
+    @Query("select s.email from Student s where s.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    /**
+     * One aggregate over the table: identifies its current content without reading it.
+     */
+    @Query("select new com.abhinavjain.projectone.Project_1.learningRestAPI.repository.StudentTableStats("
+            + "count(s), coalesce(max(s.id), 0L), coalesce(sum(s.version), 0L)) from Student s")
+    StudentTableStats tableStats();
+
+    @Query("select s.version from Student s where s.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
 }
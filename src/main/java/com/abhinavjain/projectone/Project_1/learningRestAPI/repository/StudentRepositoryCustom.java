@@ -0,0 +1,33 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.repository;
+
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.StudentDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.StudentSearchRequestDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.entity.StudentField;
+
+import java.util.List;
+import java.util.Map;
+
+public interface StudentRepositoryCustom {
+
+    /**
+     * Single UPDATE statement touching only the given columns and bumping the version.
+     *
+     * @param expectedVersion only update when the row still has this version (null = any version)
+     * @return number of rows updated (0 when the student does not exist or the version is stale)
+     */
+    int updateFields(Long id, Long expectedVersion, Map<StudentField, String> values);
+
+    /**
+     * Single DELETE statement, without loading the entity first.
+     *
+     * @param expectedVersion only delete when the row still has this version (null = any version)
+     * @return number of rows deleted
+     */
+    int deleteWithVersionCheck(Long id, Long expectedVersion);
+
+    /**
+     * Keyset-paginated search selecting straight into StudentDto (no entities are materialized).
+     * Only the filters that are set end up in the WHERE clause.
+     */
+    List<StudentDto> search(StudentSearchRequestDto search, Long afterId, int limit);
+}
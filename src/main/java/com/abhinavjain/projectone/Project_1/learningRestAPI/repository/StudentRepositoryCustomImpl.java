@@ -0,0 +1,94 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.repository;
+
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.StudentDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.StudentSearchRequestDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.entity.Student;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.entity.StudentField;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaDelete;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+class StudentRepositoryCustomImpl implements StudentRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public int updateFields(Long id, Long expectedVersion, Map<StudentField, String> values) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Student> update = cb.createCriteriaUpdate(Student.class);
+        Root<Student> root = update.from(Student.class);
+        values.forEach((field, value) -> update.set(root.<String>get(field.fieldName()), value));
+        if (values.containsKey(StudentField.EMAIL)) {
+            update.set(root.<String>get("emailDomain"), Student.domainOf(values.get(StudentField.EMAIL)));
+        }
+        update.set(root.<Long>get("version"), cb.sum(root.<Long>get("version"), 1L));
+        update.where(matches(cb, root, id, expectedVersion));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    @Override
+    public int deleteWithVersionCheck(Long id, Long expectedVersion) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaDelete<Student> delete = cb.createCriteriaDelete(Student.class);
+        Root<Student> root = delete.from(Student.class);
+        delete.where(matches(cb, root, id, expectedVersion));
+        return entityManager.createQuery(delete).executeUpdate();
+    }
+
+    @Override
+    public List<StudentDto> search(StudentSearchRequestDto search, Long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<StudentDto> query = cb.createQuery(StudentDto.class);
+        Root<Student> root = query.from(Student.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.greaterThan(root.<Long>get("id"), afterId));
+        if (hasText(search.getName())) {
+            String name = escapeLike(search.getName());
+            String pattern = "contains".equals(search.getNameMatch()) ? "%" + name + "%" : name + "%";
+            predicates.add(cb.like(root.<String>get("name"), pattern, '\\'));
+        }
+        if (hasText(search.getEmail())) {
+            predicates.add(cb.equal(root.get("email"), search.getEmail()));
+        }
+        if (hasText(search.getEmailDomain())) {
+            // "email like '%@domain'" cannot use an index, the stored domain column can
+            predicates.add(cb.equal(root.get("emailDomain"), search.getEmailDomain()));
+        }
+
+        query.select(cb.construct(StudentDto.class, root.get("id"), root.get("name"), root.get("email"), root.get("version")))
+                .where(predicates.toArray(Predicate[]::new));
+        if (hasText(search.getEmailDomain())) {
+            // the domain is fixed, so this is still id order; spelling out the index's column order
+            // lets H2 read (email_domain, id) in order instead of sorting every row of the domain
+            query.orderBy(cb.asc(root.get("emailDomain")), cb.asc(root.get("id")));
+        } else {
+            query.orderBy(cb.asc(root.get("id")));
+        }
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    // user input must not be able to inject LIKE wildcards
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static Predicate matches(CriteriaBuilder cb, Root<Student> root, Long id, Long expectedVersion) {
+        Predicate byId = cb.equal(root.get("id"), id);
+        return expectedVersion == null ? byId : cb.and(byId, cb.equal(root.get("version"), expectedVersion));
+    }
+}
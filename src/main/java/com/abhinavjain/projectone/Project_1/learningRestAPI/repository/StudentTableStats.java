@@ -0,0 +1,10 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.repository;
+
+/**
+ * Summary of the student table that changes with every write:
+ * - insert: rowCount and maxId grow (ids come from a sequence and are never reused)
+ * - update: versionSum grows (@Version is bumped)
+ * - delete: rowCount shrinks
+ */
+public record StudentTableStats(Long rowCount, Long maxId, Long versionSum) {
+}
@@ -1,20 +1,36 @@
 package com.abhinavjain.projectone.Project_1.learningRestAPI.service;
 
 import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.AddStudentRequestDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.BulkPatchRequestDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.BulkResultDto;
 import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.StudentDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.StudentPageDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.StudentSearchRequestDto;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 public interface StudentService {
-    List<StudentDto> getAllStudents();
+    StudentPageDto getAllStudents(Long afterId, int limit);
+
+    void streamAllStudents(Consumer<StudentDto> consumer);
+
+    StudentPageDto searchStudents(StudentSearchRequestDto search, Long afterId, int limit);
+
     StudentDto getStudentByID(Long id);
 
     StudentDto createdNewStudent(AddStudentRequestDto addStudentRequestDto);
 
-    void deleteStudent(Long id);
+    void deleteStudent(Long id, Long expectedVersion);
+
+    StudentDto updateStudent(Long id, AddStudentRequestDto addStudentRequestDto, Long expectedVersion);
+
+    StudentDto updatePartialStudent(Long id, Map<String, Object> updates, Long expectedVersion);
+
+    BulkResultDto createStudents(List<AddStudentRequestDto> students);
 
-    StudentDto updateStudent(Long id, AddStudentRequestDto addStudentRequestDto);
+    BulkResultDto updatePartialStudents(List<BulkPatchRequestDto> updates);
 
-    StudentDto updatePartialStudent(Long id, Map<String, Object> updates);
+    BulkResultDto deleteStudents(List<Long> ids);
 }
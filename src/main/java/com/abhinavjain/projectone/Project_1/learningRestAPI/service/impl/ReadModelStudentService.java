@@ -0,0 +1,94 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.service.impl;
+
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.AddStudentRequestDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.BulkPatchRequestDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.BulkResultDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.StudentDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.StudentPageDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.StudentSearchRequestDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.readmodel.StudentReadModel;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.service.StudentService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * With readmodel.enabled=true, serves GET /students/{id} and /students/search from the packed
+ * in-memory read model; everything else (and all reads until the model is warm) goes to
+ * StudentServiceImpl. @Primary, so controllers get this one when it exists.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "readmodel.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ReadModelStudentService implements StudentService {
+
+    private final StudentServiceImpl delegate;
+    private final StudentReadModel readModel;
+
+    @Override
+    public StudentPageDto getAllStudents(Long afterId, int limit) {
+        return delegate.getAllStudents(afterId,limit);
+    }
+
+    @Override
+    public void streamAllStudents(Consumer<StudentDto> consumer) {
+        delegate.streamAllStudents(consumer);
+    }
+
+    @Override
+    public StudentPageDto searchStudents(StudentSearchRequestDto search, Long afterId, int limit) {
+        if(!readModel.isReady())return delegate.searchStudents(search,afterId,limit);
+        int pageSize=StudentServiceImpl.pageSize(limit);
+        List<StudentDto> rows=readModel.search(search.getName(),"contains".equals(search.getNameMatch()),search.getEmail(),
+                search.getEmailDomain(),afterId==null?0L:afterId,pageSize+1);
+        return StudentServiceImpl.toPage(rows,pageSize);
+    }
+
+    // a miss falls back to the database: the row may have been written by another instance
+    @Override
+    public StudentDto getStudentByID(Long id) {
+        StudentDto student=readModel.isReady()?readModel.get(id):null;
+        return student!=null?student:delegate.getStudentByID(id);
+    }
+
+    @Override
+    public StudentDto createdNewStudent(AddStudentRequestDto addStudentRequestDto) {
+        return delegate.createdNewStudent(addStudentRequestDto);
+    }
+
+    @Override
+    public void deleteStudent(Long id, Long expectedVersion) {
+        delegate.deleteStudent(id,expectedVersion);
+    }
+
+    @Override
+    public StudentDto updateStudent(Long id, AddStudentRequestDto addStudentRequestDto, Long expectedVersion) {
+        return delegate.updateStudent(id,addStudentRequestDto,expectedVersion);
+    }
+
+    @Override
+    public StudentDto updatePartialStudent(Long id, Map<String, Object> updates, Long expectedVersion) {
+        return delegate.updatePartialStudent(id,updates,expectedVersion);
+    }
+
+    @Override
+    public BulkResultDto createStudents(List<AddStudentRequestDto> students) {
+        return delegate.createStudents(students);
+    }
+
+    @Override
+    public BulkResultDto updatePartialStudents(List<BulkPatchRequestDto> updates) {
+        return delegate.updatePartialStudents(updates);
+    }
+
+    @Override
+    public BulkResultDto deleteStudents(List<Long> ids) {
+        return delegate.deleteStudents(ids);
+    }
+}
@@ -0,0 +1,47 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.service.impl;
+
+import com.abhinavjain.projectone.Project_1.learningRestAPI.entity.Student;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.mapper.StudentMapper;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.outbox.StudentOutbox;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Inserts already-validated students in one transaction using JDBC batching.
+ *
+ * The persistence context is flushed and cleared every batch so a 10k row import
+ * keeps only one batch of entities in memory. Each student's CREATED outbox event is
+ * persisted right after it, so the events go out in the same JDBC batches.
+ */
+@Component
+@RequiredArgsConstructor
+public class StudentBatchWriter {
+
+    private final EntityManager entityManager;
+    private final StudentMapper studentMapper;
+    private final StudentOutbox studentOutbox;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    @Transactional
+    public List<Student> insertAll(List<Student> students) {
+        for (int i = 0; i < students.size(); i++) {
+            Student student = students.get(i);
+            entityManager.persist(student);
+            studentOutbox.created(studentMapper.toDto(student));
+            if ((i + 1) % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return students;
+    }
+}
@@ -1,74 +1,353 @@
 package com.abhinavjain.projectone.Project_1.learningRestAPI.service.impl;
 
+import com.abhinavjain.projectone.Project_1.learningRestAPI.config.CacheConfig;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.datasource.PrimaryReads;
 import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.AddStudentRequestDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.BulkItemResultDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.BulkPatchRequestDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.BulkResultDto;
 import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.StudentDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.StudentPageDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.StudentSearchRequestDto;
 import com.abhinavjain.projectone.Project_1.learningRestAPI.entity.Student;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.entity.StudentField;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.exception.StudentVersionConflictException;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.mapper.StudentMapper;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.monitoring.StudentServiceMetrics;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.outbox.StudentOutbox;
 import com.abhinavjain.projectone.Project_1.learningRestAPI.repository.StudentRepository;
 import com.abhinavjain.projectone.Project_1.learningRestAPI.service.StudentService;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class StudentServiceImpl implements StudentService {
 
+    static final int MAX_PAGE_SIZE = 500;
+    static final int MAX_BULK_SIZE = 10_000;
+
     private final StudentRepository studentRepository;
-    private final ModelMapper modelMapper;
+    private final StudentMapper studentMapper;
+    private final EntityManager entityManager;
+    private final StudentBatchWriter studentBatchWriter;
+    private final Validator validator;
+    private final StudentServiceMetrics metrics;
+    private final StudentOutbox studentOutbox;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
 
     @Override
-    public List<StudentDto> getAllStudents() {
-        List<Student> students=studentRepository.findAll();
-//        return students
-//                .stream().
-//                map(student -> new StudentDto(student.getId(),student.getName(),student.getEmail()))
-//                .toList();
-        return students.stream().map(student -> modelMapper.map(student,StudentDto.class)).toList();
+    @Transactional(readOnly = true)
+    public StudentPageDto getAllStudents(Long afterId, int limit) {
+        int pageSize=pageSize(limit);
+        // fetch one extra row to know whether another page exists without a count(*) query
+        List<Student> students=metrics.repository(()->studentRepository.findByIdGreaterThanOrderByIdAsc(afterId==null?0L:afterId,Limit.of(pageSize+1)));
+        return toPage(metrics.mapping(()->students.stream().map(studentMapper::toDto).toList()),pageSize);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public StudentPageDto searchStudents(StudentSearchRequestDto search, Long afterId, int limit) {
+        int pageSize=pageSize(limit);
+        return toPage(metrics.repository(()->studentRepository.search(search,afterId==null?0L:afterId,pageSize+1)),pageSize);
+    }
+
+    static int pageSize(int limit) {
+        return Math.max(1,Math.min(limit,MAX_PAGE_SIZE));
+    }
+
+    // rows holds up to pageSize+1 students; the extra one only signals that a next page exists
+    static StudentPageDto toPage(List<StudentDto> rows, int pageSize) {
+        boolean hasMore=rows.size()>pageSize;
+        List<StudentDto> page=hasMore?rows.subList(0,pageSize):rows;
+        Long nextCursor=hasMore?page.get(page.size()-1).getId():null;
+        return new StudentPageDto(page,nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllStudents(Consumer<StudentDto> consumer) {
+        try(Stream<Student> students=studentRepository.streamAllOrderedById()){
+            students.forEach(student -> {
+                consumer.accept(studentMapper.toDto(student));
+                // drop the row from the persistence context so memory stays flat for the whole export
+                entityManager.detach(student);
+            });
+        }
+    }
+
+    // sync = true: concurrent misses on the same id wait for a single database load
+    // the load fills the cache, so it reads from the primary, never from a lagging replica
+    @Override
+    @Cacheable(cacheNames = CacheConfig.STUDENTS_CACHE, key = "#id", sync = true)
+    @Transactional(readOnly = true)
     public StudentDto getStudentByID(Long id){
-        Student student=studentRepository.findById(id).orElseThrow(()->new IllegalArgumentException("Student not found by Id"));
-        return modelMapper.map(student,StudentDto.class);
+        return PrimaryReads.call(()->{
+            Student student=metrics.repository(()->studentRepository.findById(id)).orElseThrow(()->new IllegalArgumentException("Student not found by Id"));
+            return metrics.mapping(()->studentMapper.toDto(student));
+        });
     }
 
+    // every change below also records an outbox event in the same transaction (GET /students/changes)
     @Override
+    @Transactional
     public StudentDto createdNewStudent(AddStudentRequestDto addStudentRequestDto) {
-        Student newStudent=modelMapper.map(addStudentRequestDto,Student.class);
-        Student student=studentRepository.save(newStudent);
-        return modelMapper.map(student,StudentDto.class);
+        Student newStudent=metrics.mapping(()->studentMapper.toEntity(addStudentRequestDto));
+        Student student=metrics.repository(()->studentRepository.save(newStudent));
+        StudentDto created=metrics.mapping(()->studentMapper.toDto(student));
+        studentOutbox.created(created);
+        return created;
     }
 
     @Override
-    public void deleteStudent(Long id) {
-        if(studentRepository.existsById(id))studentRepository.deleteById(id);
-        else throw new IllegalArgumentException("Student does not exist by id"+id);
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.STUDENTS_CACHE, key = "#id")
+    public void deleteStudent(Long id, Long expectedVersion) {
+        if(metrics.repository(()->studentRepository.deleteWithVersionCheck(id,expectedVersion))==0)throw notFoundOrStale(id,expectedVersion);
+        studentOutbox.deleted(id);
     }
 
     @Override
-    public StudentDto updateStudent(Long id, AddStudentRequestDto addStudentRequestDto) {
-        Student student=studentRepository.findById(id).orElseThrow(()-> new IllegalArgumentException("No Student found with id "+id));
-        modelMapper.map(addStudentRequestDto,student);
-        student = studentRepository.save(student);
-        return modelMapper.map(student,StudentDto.class);
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.STUDENTS_CACHE, key = "#id")
+    public StudentDto updateStudent(Long id, AddStudentRequestDto addStudentRequestDto, Long expectedVersion) {
+        Student student=studentMapper.toEntity(addStudentRequestDto);
+        Map<StudentField,String> values=new EnumMap<>(StudentField.class);
+        values.put(StudentField.NAME,student.getName());
+        values.put(StudentField.EMAIL,student.getEmail());
+        if(metrics.repository(()->studentRepository.updateFields(id,expectedVersion,values))==0)throw notFoundOrStale(id,expectedVersion);
+        // PUT replaces every field, so the response is built from the request; only the new version may need a lookup
+        student.setId(id);
+        student.setVersion(newVersion(id,expectedVersion));
+        StudentDto updated=studentMapper.toDto(student);
+        studentOutbox.updated(updated);
+        return updated;
     }
 
     @Override
-    public StudentDto updatePartialStudent(Long id, Map<String, Object> updates) {
-        Student student=studentRepository.findById(id).orElseThrow(()->new IllegalArgumentException("No Student found with id "+id));
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.STUDENTS_CACHE, key = "#id")
+    public StudentDto updatePartialStudent(Long id, Map<String, Object> updates, Long expectedVersion) {
+        Map<StudentField,String> values=toFieldValues(updates);
+        if(!values.isEmpty()&&metrics.repository(()->studentRepository.updateFields(id,expectedVersion,values))==0){
+            throw notFoundOrStale(id,expectedVersion);
+        }
+        if(values.size()==StudentField.values().length){
+            Student student=new Student();
+            student.setId(id);
+            values.forEach((field,value)->field.apply(student,value));
+            student.setVersion(newVersion(id,expectedVersion));
+            StudentDto updated=studentMapper.toDto(student);
+            studentOutbox.updated(updated);
+            return updated;
+        }
+        // only some columns were sent, read the row once to return the full student;
+        // the UPDATE bypassed the persistence context, so first drop a copy loaded earlier in this transaction
+        entityManager.detach(entityManager.getReference(Student.class,id));
+        Student student=metrics.repository(()->studentRepository.findById(id)).orElseThrow(()->new IllegalArgumentException("No Student found with id "+id));
+        if(values.isEmpty()&&expectedVersion!=null&&!expectedVersion.equals(student.getVersion())){
+            throw new StudentVersionConflictException("Student "+id+" has been modified, expected version "+expectedVersion);
+        }
+        StudentDto updated=studentMapper.toDto(student);
+        if(!values.isEmpty())studentOutbox.updated(updated);
+        return updated;
+    }
+
+    private Long newVersion(Long id, Long expectedVersion) {
+        if(expectedVersion!=null)return expectedVersion+1;
+        return metrics.repository(()->studentRepository.findVersionById(id)).orElseThrow(()->new IllegalArgumentException("No Student found with id "+id));
+    }
+
+    // 0 rows affected: the student is gone, or its version is not the If-Match one;
+    // either way an If-Match precondition failed (412), there is no current version it could match
+    private RuntimeException notFoundOrStale(Long id, Long expectedVersion) {
+        if(expectedVersion!=null){
+            return new StudentVersionConflictException("Student "+id+" was modified or deleted, expected version "+expectedVersion);
+        }
+        return new IllegalArgumentException("No Student found with id "+id);
+    }
+
+    static Map<StudentField, String> toFieldValues(Map<String, Object> updates) {
+        Map<StudentField,String> values=new EnumMap<>(StudentField.class);
         updates.forEach((feild,value)->{
-            switch (feild){
-                case "name":student.setName(value.toString());break;
-                case "email":student.setEmail(value.toString());break;
-                default:
-                    throw new IllegalArgumentException("Field: "+feild+" is not a valid field");
+            StudentField field=StudentField.of(feild);
+            if(value==null)throw new IllegalArgumentException("Field: "+feild+" must not be null");
+            values.put(field,value.toString());
+        });
+        return values;
+    }
+
+    static void applyPartialUpdates(Student student, Map<String, Object> updates) {
+        updates.forEach((feild,value)->StudentField.of(feild).apply(student,value.toString()));
+    }
+
+    @Override
+    @Transactional
+    public BulkResultDto createStudents(List<AddStudentRequestDto> students) {
+        checkBulkSize(students);
+        BulkItemResultDto[] results=new BulkItemResultDto[students.size()];
+        List<Student> valid=new ArrayList<>(students.size());
+        List<Integer> validIndexes=new ArrayList<>(students.size());
+        // the unique email index would fail the whole batch, so clashes are rejected per item up front
+        Set<String> existing=existingEmails(students);
+        Set<String> seen=new HashSet<>();
+        for(int i=0;i<students.size();i++){
+            AddStudentRequestDto dto=students.get(i);
+            List<String> errors=dto==null?List.of("Student is required"):validationErrors(dto);
+            if(errors.isEmpty()&&existing.contains(dto.getEmail()))errors=List.of("email: a student with this email already exists");
+            else if(errors.isEmpty()&&!seen.add(dto.getEmail()))errors=List.of("email: appears earlier in the request");
+            if(errors.isEmpty()){
+                valid.add(studentMapper.toEntity(dto));
+                validIndexes.add(i);
             }
+            else results[i]=new BulkItemResultDto(i,null,false,errors);
+        }
+        List<Student> saved=metrics.repository(()->studentBatchWriter.insertAll(valid));
+        for(int i=0;i<saved.size();i++){
+            int index=validIndexes.get(i);
+            results[index]=new BulkItemResultDto(index,saved.get(i).getId(),true,List.of());
+        }
+        return toBulkResult(results);
+    }
+
+    private Set<String> existingEmails(List<AddStudentRequestDto> students) {
+        return existingEmails(students.stream().filter(Objects::nonNull).map(AddStudentRequestDto::getEmail));
+    }
+
+    private Set<String> existingEmails(Stream<String> candidates) {
+        List<String> emails=candidates.filter(Objects::nonNull).distinct().toList();
+        return emails.isEmpty()?Set.of():Set.copyOf(metrics.repository(()->studentRepository.findExistingEmails(emails)));
+    }
+
+    private static Stream<String> newEmails(List<BulkPatchRequestDto> updates) {
+        return updates.stream().filter(Objects::nonNull).map(StudentServiceImpl::newEmail);
+    }
+
+    private static String newEmail(BulkPatchRequestDto item) {
+        Object email=item.getUpdates()==null?null:item.getUpdates().get(StudentField.EMAIL.fieldName());
+        return email==null?null:email.toString();
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.STUDENTS_CACHE, allEntries = true)
+    public BulkResultDto updatePartialStudents(List<BulkPatchRequestDto> updates) {
+        checkBulkSize(updates);
+        BulkItemResultDto[] results=new BulkItemResultDto[updates.size()];
+        List<Student> patched=new ArrayList<>(batchSize);
+        // as in createStudents: an email clash would fail the whole flush, so it is rejected per item
+        Set<String> existing=existingEmails(newEmails(updates));
+        Set<String> seen=new HashSet<>();
+        // load and patch one JDBC batch at a time; dirty checking turns each chunk into one batched UPDATE
+        for(int from=0;from<updates.size();from+=batchSize){
+            int to=Math.min(from+batchSize,updates.size());
+            List<Long> ids=new ArrayList<>(to-from);
+            for(int i=from;i<to;i++){
+                BulkPatchRequestDto item=updates.get(i);
+                if(item!=null&&item.getId()!=null)ids.add(item.getId());
+            }
+            Map<Long,Student> students=new HashMap<>();
+            metrics.repository(()->studentRepository.findAllById(ids)).forEach(student -> students.put(student.getId(),student));
+            for(int i=from;i<to;i++){
+                BulkPatchRequestDto item=updates.get(i);
+                Long id=item==null?null:item.getId();
+                Student student=id==null?null:students.get(id);
+                List<String> errors;
+                if(id==null)errors=List.of("Id is required");
+                else if(student==null)errors=List.of("No Student found with id "+id);
+                else errors=patchErrors(item.getUpdates());
+                String email=errors.isEmpty()?newEmail(item):null;
+                // a student keeping its own email is not a clash
+                if(email!=null&&existing.contains(email)&&!email.equals(student.getEmail()))errors=List.of("email: a student with this email already exists");
+                else if(email!=null&&!seen.add(email))errors=List.of("email: appears earlier in the request");
+                if(errors.isEmpty()){
+                    applyPartialUpdates(student,item.getUpdates());
+                    patched.add(student);
+                    results[i]=new BulkItemResultDto(i,id,true,List.of());
+                }
+                else results[i]=new BulkItemResultDto(i,id,false,errors);
+            }
+            metrics.repository(entityManager::flush);
+            // after the flush: the events carry the incremented versions
+            patched.forEach(student -> studentOutbox.updated(studentMapper.toDto(student)));
+            patched.clear();
+            metrics.repository(entityManager::flush);
+            entityManager.clear();
+        }
+        return toBulkResult(results);
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.STUDENTS_CACHE, allEntries = true)
+    public BulkResultDto deleteStudents(List<Long> ids) {
+        checkBulkSize(ids);
+        BulkItemResultDto[] results=new BulkItemResultDto[ids.size()];
+        for(int from=0;from<ids.size();from+=batchSize){
+            int to=Math.min(from+batchSize,ids.size());
+            List<Long> chunk=ids.subList(from,to).stream().filter(Objects::nonNull).toList();
+            Set<Long> existing=chunk.isEmpty()?Set.of():Set.copyOf(metrics.repository(()->studentRepository.findExistingIds(chunk)));
+            // one "delete ... where id in (...)" per chunk instead of a load + delete per row
+            metrics.repository(()->studentRepository.deleteAllByIdInBatch(existing));
+            existing.forEach(studentOutbox::deleted);
+            for(int i=from;i<to;i++){
+                Long id=ids.get(i);
+                if(id==null)results[i]=new BulkItemResultDto(i,null,false,List.of("Id is required"));
+                else if(existing.contains(id))results[i]=new BulkItemResultDto(i,id,true,List.of());
+                else results[i]=new BulkItemResultDto(i,id,false,List.of("Student does not exist by id "+id));
+            }
+        }
+        return toBulkResult(results);
+    }
+
+    private List<String> validationErrors(AddStudentRequestDto dto) {
+        Set<ConstraintViolation<AddStudentRequestDto>> violations=validator.validate(dto);
+        return violations.stream().map(violation -> violation.getPropertyPath()+": "+violation.getMessage()).toList();
+    }
+
+    // the patched fields are checked against the same constraints as AddStudentRequestDto
+    private List<String> patchErrors(Map<String, Object> updates) {
+        if(updates==null||updates.isEmpty())return List.of("Updates are required");
+        List<String> errors=new ArrayList<>();
+        updates.forEach((feild,value)->{
+            if(!StudentField.isValid(feild))errors.add("Field: "+feild+" is not a valid field");
+            else if(value==null)errors.add("Field: "+feild+" must not be null");
+            else validator.validateValue(AddStudentRequestDto.class,feild,value.toString())
+                    .forEach(violation -> errors.add(feild+": "+violation.getMessage()));
         });
-        Student savedstudent=studentRepository.save(student);
-        return modelMapper.map(savedstudent,StudentDto.class);
+        return errors;
+    }
+
+    private static void checkBulkSize(List<?> items) {
+        if(items==null||items.isEmpty())throw new IllegalArgumentException("At least one item is required");
+        if(items.size()>MAX_BULK_SIZE)throw new IllegalArgumentException("At most "+MAX_BULK_SIZE+" items are allowed per bulk request");
+    }
+
+    private static BulkResultDto toBulkResult(BulkItemResultDto[] results) {
+        int succeeded=(int)Arrays.stream(results).filter(BulkItemResultDto::isSuccess).count();
+        return new BulkResultDto(succeeded,results.length-succeeded,Arrays.asList(results));
     }
 
 }
@@ -0,0 +1,86 @@
+package com.abhinavjain.projectone.Project_1.understandingBeans;
+
+import com.abhinavjain.projectone.Project_1.idempotency.IdempotencyStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+
+import java.time.Duration;
+
+/**
+ * Async Payment Configuration
+ *
+ * Builds the POST /payments path: one {@link BatchingAsyncPaymentService} per payment gateway,
+ * each with its own queue and in-flight limit (payment.async.* in application.properties),
+ * behind an {@link AsyncRoutingPaymentService} that shares RoutingPaymentService's routing and
+ * circuit breakers, wrapped in an {@link IdempotentAsyncPaymentService} so retried payments are
+ * not charged twice, whichever provider handled the first attempt.
+ *
+ * Key Learning Points:
+ * 1. @Bean methods: objects that need constructor arguments (durations, limits) are created
+ *    in a @Configuration class instead of being annotated with @Component
+ * 2. @Value: reads configuration values, with a default after the colon
+ * 3. Lifecycle: the services implement AutoCloseable, so Spring calls close() on shutdown
+ *    without an explicit destroyMethod
+ *
+ * 4. @Lazy: the beans (and their scheduler threads) are only created when first injected
+ *    or looked up, so they add nothing to startup time
+ *
+ * The gateways are {@link StubPaymentGateway}s with a configurable latency and decline rate
+ * (payment.gateway=stub, the default) until real provider clients are added. With any other
+ * value no gateway is registered and every async payment is rejected.
+ */
+@Configuration
+@Lazy
+public class AsyncPaymentConfig {
+
+    @Value("${payment.async.batch-size:50}")
+    private int batchSize;
+
+    @Value("${payment.async.linger-ms:5}")
+    private long lingerMs;
+
+    @Value("${payment.async.timeout-ms:2000}")
+    private long timeoutMs;
+
+    @Value("${payment.async.max-in-flight-batches:8}")
+    private int maxInFlightBatches;
+
+    @Value("${payment.async.max-pending:10000}")
+    private int maxPending;
+
+    @Bean
+    @ConditionalOnProperty(name = "payment.gateway", havingValue = "stub", matchIfMissing = true)
+    public StubPaymentGateway razorPayGateway(@Value("${payment.stub.latency-ms:50}") long latencyMs,
+                                              @Value("${payment.stub.failure-rate:0.0}") double failureRate) {
+        return new StubPaymentGateway("razorpay", Duration.ofMillis(latencyMs), failureRate);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "payment.gateway", havingValue = "stub", matchIfMissing = true)
+    public StubPaymentGateway stripeGateway(@Value("${payment.stub.latency-ms:50}") long latencyMs,
+                                            @Value("${payment.stub.failure-rate:0.0}") double failureRate) {
+        return new StubPaymentGateway("stripe", Duration.ofMillis(latencyMs), failureRate);
+    }
+
+    @Bean
+    public AsyncRoutingPaymentService asyncRoutingPaymentService(RoutingPaymentService routingPaymentService,
+                                                                 ObjectProvider<PaymentGateway> gateways) {
+        return new AsyncRoutingPaymentService(routingPaymentService, gateways.orderedStream().map(this::batching).toList());
+    }
+
+    @Bean
+    public IdempotentAsyncPaymentService asyncPaymentService(AsyncRoutingPaymentService asyncRoutingPaymentService,
+                                                             IdempotencyStore idempotencyStore, ObjectMapper objectMapper) {
+        return new IdempotentAsyncPaymentService(asyncRoutingPaymentService, idempotencyStore, objectMapper);
+    }
+
+    private BatchingAsyncPaymentService batching(PaymentGateway gateway) {
+        return new BatchingAsyncPaymentService(gateway, batchSize, Duration.ofMillis(lingerMs),
+                Duration.ofMillis(timeoutMs), maxInFlightBatches, maxPending);
+    }
+}
@@ -0,0 +1,41 @@
+package com.abhinavjain.projectone.Project_1.understandingBeans;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous counterpart of {@link PaymentService}.
+ *
+ * Key Learning Points:
+ * 1. The caller gets a CompletableFuture immediately; no request thread waits for the provider
+ * 2. Failures (timeouts, overload, provider errors) arrive as an exceptionally completed future
+ *    instead of a thrown exception:
+ *    - RejectedExecutionException: the payment never reached the provider, it is safe to retry
+ *    - anything else (TimeoutException, provider errors): the provider may have charged it,
+ *      {@link #lookup} finds out
+ * 3. Callers compose the result with thenApply / thenCompose instead of blocking on get()
+ *
+ * @see BatchingAsyncPaymentService
+ */
+public interface AsyncPaymentService {
+
+    /**
+     * @return name of the payment provider behind this service
+     */
+    String provider();
+
+    /**
+     * Submit a payment for processing.
+     *
+     * @param request payment to process
+     * @return future completed with the provider's result, or exceptionally with a
+     *         TimeoutException or RejectedExecutionException
+     */
+    CompletableFuture<PaymentResult> payAsync(PaymentRequest request);
+
+    /**
+     * @return the provider's result for an earlier payment, or empty when it never reached a provider
+     * @see PaymentGateway#lookup
+     */
+    CompletableFuture<Optional<PaymentResult>> lookup(String paymentId);
+}
@@ -0,0 +1,100 @@
+package com.abhinavjain.projectone.Project_1.understandingBeans;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+/**
+ * Async counterpart of {@link RoutingPaymentService}: same routing order, preferred provider,
+ * enabled set and circuit breakers, so GET /payments/routing shows one set of statistics for
+ * both paths. Async providers are matched to the routing providers by name.
+ *
+ * Failover is narrower than for pay(): a payment only moves to the next provider when it was
+ * rejected (RejectedExecutionException), i.e. it never left this instance. A timeout or a
+ * provider error may already have charged the customer, so it is returned to the caller
+ * instead of being sent to a second provider.
+ */
+public class AsyncRoutingPaymentService implements AsyncPaymentService, AutoCloseable {
+
+    private final RoutingPaymentService routing;
+    private final Map<String, AsyncPaymentService> providers = new LinkedHashMap<>();
+
+    public AsyncRoutingPaymentService(RoutingPaymentService routing, List<? extends AsyncPaymentService> providers) {
+        this.routing = routing;
+        providers.forEach(provider -> this.providers.put(provider.provider(), provider));
+    }
+
+    @Override
+    public String provider() {
+        return routing.provider();
+    }
+
+    @Override
+    public CompletableFuture<PaymentResult> payAsync(PaymentRequest request) {
+        return attempt(request, routing.routingOrder().iterator(), null);
+    }
+
+    private CompletableFuture<PaymentResult> attempt(PaymentRequest request, Iterator<String> order, Throwable lastFailure) {
+        while (order.hasNext()) {
+            String provider = order.next();
+            AsyncPaymentService service = providers.get(provider);
+            ProviderHealth health = routing.health(provider);
+            if (service == null || !health.tryAcquire()) continue;
+            long start = System.nanoTime();
+            CompletableFuture<PaymentResult> result;
+            try {
+                result = service.payAsync(request);
+            } catch (RuntimeException e) {
+                result = CompletableFuture.failedFuture(e);
+            } catch (Error e) {
+                health.recordFailure(System.nanoTime() - start);
+                throw e;
+            }
+            // handle() sees every outcome, Errors included, so a half-open trial always reaches the breaker
+            return result.handle((paymentResult, error) -> {
+                long elapsed = System.nanoTime() - start;
+                if (error == null) {
+                    health.recordSuccess(elapsed);
+                    return CompletableFuture.completedFuture(paymentResult);
+                }
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                if (cause instanceof RejectedExecutionException) {
+                    // our own backpressure, the provider never saw the payment: fail over without blaming it
+                    health.recordNotSent();
+                    return attempt(request, order, cause);
+                }
+                health.recordFailure(elapsed);
+                return CompletableFuture.<PaymentResult>failedFuture(cause);
+            }).thenCompose(Function.identity());
+        }
+        RejectedExecutionException unavailable = new RejectedExecutionException("No payment provider available");
+        if (lastFailure != null) unavailable.initCause(lastFailure);
+        return CompletableFuture.failedFuture(unavailable);
+    }
+
+    /**
+     * Asks every provider. Fails when one of them cannot answer and no other one has the payment,
+     * since "not received" would then be a guess.
+     */
+    @Override
+    public CompletableFuture<Optional<PaymentResult>> lookup(String paymentId) {
+        CompletableFuture<Optional<PaymentResult>> found = CompletableFuture.completedFuture(Optional.empty());
+        for (AsyncPaymentService provider : providers.values()) {
+            found = found.thenCompose(result -> result.isPresent() ? CompletableFuture.completedFuture(result) : provider.lookup(paymentId));
+        }
+        return found;
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (AsyncPaymentService provider : providers.values()) {
+            if (provider instanceof AutoCloseable closeable) closeable.close();
+        }
+    }
+}
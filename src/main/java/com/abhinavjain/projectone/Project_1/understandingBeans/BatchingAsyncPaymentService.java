@@ -0,0 +1,202 @@
+package com.abhinavjain.projectone.Project_1.understandingBeans;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Asynchronous payment service for one provider that groups payments into micro-batches.
+ *
+ * How it works:
+ * 1. payAsync() only queues the payment and returns a future, it never blocks
+ * 2. A batch is sent when batchSize payments are queued, or when the oldest queued payment
+ *    has waited linger (so a single payment is not held back indefinitely)
+ * 3. At most maxInFlightBatches batches are outstanding at the provider at once; further
+ *    batches stay queued and are sent as soon as a response frees a slot
+ * 4. The queue is bounded by maxPending: beyond that, payments are rejected immediately
+ *    (RejectedExecutionException) instead of piling up in memory
+ * 5. Each payment times out after timeout, whether it is still queued or already at the
+ *    provider. A payment that times out while queued is never sent and fails with a
+ *    RejectedExecutionException; one already sent fails with a TimeoutException, its outcome
+ *    is unknown until {@link #lookup}
+ *
+ * Each provider gets its own instance, so a slow provider cannot use up another's capacity.
+ */
+public class BatchingAsyncPaymentService implements AsyncPaymentService, AutoCloseable {
+
+    // taken: set once, by whichever comes first of sending the payment and its timeout
+    private record Pending(PaymentRequest request, CompletableFuture<PaymentResult> result, long enqueuedNanos,
+                           AtomicBoolean taken) {
+    }
+
+    private final PaymentGateway gateway;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final long timeoutNanos;
+    private final int maxPending;
+    private final Semaphore inFlightBatches;
+    private final ScheduledExecutorService lingerScheduler;
+
+    // guarded by this
+    private final ArrayDeque<Pending> queue = new ArrayDeque<>();
+    private ScheduledFuture<?> lingerTimer;
+    private boolean closed;
+
+    public BatchingAsyncPaymentService(PaymentGateway gateway, int batchSize, Duration linger, Duration timeout,
+                                       int maxInFlightBatches, int maxPending) {
+        if (batchSize < 1 || maxInFlightBatches < 1 || maxPending < 1) {
+            throw new IllegalArgumentException("batchSize, maxInFlightBatches and maxPending must be positive");
+        }
+        this.gateway = gateway;
+        this.batchSize = batchSize;
+        this.lingerNanos = linger.toNanos();
+        this.timeoutNanos = timeout.toNanos();
+        this.maxPending = maxPending;
+        this.inFlightBatches = new Semaphore(maxInFlightBatches);
+        this.lingerScheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name("payment-linger-" + gateway.provider()).factory());
+    }
+
+    @Override
+    public String provider() {
+        return gateway.provider();
+    }
+
+    @Override
+    public CompletableFuture<PaymentResult> payAsync(PaymentRequest request) {
+        Pending pending = new Pending(request, new CompletableFuture<>(), System.nanoTime(), new AtomicBoolean());
+        synchronized (this) {
+            if (closed) {
+                return CompletableFuture.failedFuture(new RejectedExecutionException("Payment service for " + provider() + " is closed"));
+            }
+            if (queue.size() >= maxPending) {
+                return CompletableFuture.failedFuture(new RejectedExecutionException(
+                        "Too many pending payments for " + provider() + " (limit " + maxPending + ")"));
+            }
+            queue.add(pending);
+        }
+        CompletableFuture<PaymentResult> result = pending.result().orTimeout(timeoutNanos, TimeUnit.NANOSECONDS)
+                .exceptionallyCompose(error -> {
+                    if (error instanceof TimeoutException && pending.taken().compareAndSet(false, true)) {
+                        return CompletableFuture.failedFuture(new RejectedExecutionException(
+                                "Payment " + request.paymentId() + " timed out before it was sent to " + provider(), error));
+                    }
+                    return CompletableFuture.failedFuture(error);
+                });
+        drain();
+        return result;
+    }
+
+    @Override
+    public CompletableFuture<Optional<PaymentResult>> lookup(String paymentId) {
+        try {
+            return gateway.lookup(paymentId).copy().orTimeout(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * @return payments queued and not yet sent to the provider
+     */
+    public synchronized int pendingCount() {
+        return queue.size();
+    }
+
+    /**
+     * Sends every batch that is ready while there is in-flight capacity. Called after each
+     * submission, when the linger timer fires and when a batch response frees a slot.
+     */
+    private void drain() {
+        while (true) {
+            List<Pending> batch;
+            synchronized (this) {
+                if (queue.isEmpty()) return;
+                boolean full = queue.size() >= batchSize;
+                boolean lingered = System.nanoTime() - queue.peek().enqueuedNanos() >= lingerNanos;
+                if (!full && !lingered) {
+                    scheduleLinger();
+                    return;
+                }
+                // no capacity: the batch in flight calls drain() again when it completes
+                if (!inFlightBatches.tryAcquire()) return;
+                batch = new ArrayList<>(Math.min(queue.size(), batchSize));
+                while (batch.size() < batchSize && !queue.isEmpty()) {
+                    Pending pending = queue.poll();
+                    if (pending.taken().compareAndSet(false, true)) batch.add(pending);
+                }
+            }
+            if (batch.isEmpty()) {
+                inFlightBatches.release();
+            } else {
+                send(batch);
+            }
+        }
+    }
+
+    // guarded by this
+    private void scheduleLinger() {
+        if (lingerTimer != null || closed) return;
+        long delay = queue.peek().enqueuedNanos() + lingerNanos - System.nanoTime();
+        lingerTimer = lingerScheduler.schedule(() -> {
+            synchronized (this) {
+                lingerTimer = null;
+            }
+            drain();
+        }, Math.max(delay, 0), TimeUnit.NANOSECONDS);
+    }
+
+    private void send(List<Pending> batch) {
+        CompletableFuture<List<PaymentResult>> response;
+        try {
+            // copy(): the batch-level timeout must not complete the gateway's own future
+            response = gateway.submitBatch(batch.stream().map(Pending::request).toList())
+                    .copy()
+                    .orTimeout(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (RuntimeException e) {
+            // thrown before anything was sent
+            response = CompletableFuture.failedFuture(new RejectedExecutionException(provider() + " did not accept the batch", e));
+        }
+        response.whenComplete((results, error) -> {
+            inFlightBatches.release();
+            if (error == null && results.size() != batch.size()) {
+                error = new IllegalStateException(provider() + " returned " + results.size() + " results for " + batch.size() + " payments");
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                if (error != null) {
+                    batch.get(i).result().completeExceptionally(error);
+                } else {
+                    batch.get(i).result().complete(results.get(i));
+                }
+            }
+            drain();
+        });
+    }
+
+    /**
+     * Stops accepting payments and fails those still queued; batches already sent complete normally.
+     */
+    @Override
+    public void close() {
+        List<Pending> abandoned;
+        synchronized (this) {
+            closed = true;
+            abandoned = new ArrayList<>(queue);
+            queue.clear();
+        }
+        lingerScheduler.shutdownNow();
+        RejectedExecutionException error = new RejectedExecutionException("Payment service for " + provider() + " is closed");
+        abandoned.forEach(pending -> pending.result().completeExceptionally(error));
+    }
+}
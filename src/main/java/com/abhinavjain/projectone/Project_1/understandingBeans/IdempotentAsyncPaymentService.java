@@ -0,0 +1,182 @@
+package com.abhinavjain.projectone.Project_1.understandingBeans;
+
+import com.abhinavjain.projectone.Project_1.idempotency.IdempotencyClaim;
+import com.abhinavjain.projectone.Project_1.idempotency.IdempotencyKeys;
+import com.abhinavjain.projectone.Project_1.idempotency.IdempotencyStore;
+import com.abhinavjain.projectone.Project_1.idempotency.IdempotentResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Makes {@link AsyncPaymentService#payAsync} safe to retry, using the paymentId as idempotency key.
+ *
+ * - A retry of a payment that is still running gets the same future as the original call
+ * - A retry of a finished payment gets the recorded result; the provider is not called again
+ * - A paymentId reused with a different amount or currency fails with PaymentConflictException
+ *
+ * Only payments that never reached a provider (RejectedExecutionException) release the key.
+ * Any other failure, e.g. a timeout after the batch was sent, may have charged the customer:
+ * the key is kept with a provisional (202) response and the outcome is reconciled through
+ * {@link AsyncPaymentService#lookup}, right away and again on every retry until it is known.
+ * A payment the providers never received is released and sent again by the retry.
+ *
+ * Store calls can block (idempotency.store=jdbc), so they run on virtual threads of this service,
+ * never on the gateway threads that complete the payments.
+ */
+public class IdempotentAsyncPaymentService implements AsyncPaymentService, AutoCloseable {
+
+    private static final int OUTCOME_UNKNOWN = IdempotentResponse.PROVISIONAL_STATUS;
+
+    private final AsyncPaymentService delegate;
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final ConcurrentMap<String, CompletableFuture<PaymentResult>> inFlight = new ConcurrentHashMap<>();
+    private final ExecutorService storeCalls = Executors.newVirtualThreadPerTaskExecutor();
+
+    public IdempotentAsyncPaymentService(AsyncPaymentService delegate, IdempotencyStore store, ObjectMapper objectMapper) {
+        this.delegate = delegate;
+        this.store = store;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String provider() {
+        return delegate.provider();
+    }
+
+    @Override
+    public CompletableFuture<PaymentResult> payAsync(PaymentRequest request) {
+        String key = "payment " + provider() + " " + request.paymentId();
+        CompletableFuture<PaymentResult> result = new CompletableFuture<>();
+        CompletableFuture<PaymentResult> running = inFlight.putIfAbsent(key, result);
+        if (running != null) return running;
+
+        IdempotencyClaim claim;
+        try {
+            claim = store.claim(key, IdempotencyKeys.fingerprint(request.amountMinor() + " " + request.currency()));
+        } catch (RuntimeException e) {
+            return finish(key, result, null, e);
+        }
+        return switch (claim.outcome()) {
+            case COMPLETED -> claim.response().status() == OUTCOME_UNKNOWN
+                    ? retryUnknown(key, request, result)
+                    : finish(key, result, read(claim.response()), null);
+            case MISMATCH -> finish(key, result, null,
+                    new PaymentConflictException("paymentId " + request.paymentId() + " was already used for a different payment"));
+            // claimed by another instance sharing the store
+            case IN_FLIGHT -> finish(key, result, null,
+                    new PaymentConflictException("Payment " + request.paymentId() + " is already in progress"));
+            case NEW -> {
+                delegate.payAsync(request).whenCompleteAsync((paymentResult, error) -> {
+                    Throwable cause = unwrap(error);
+                    try {
+                        if (cause == null) {
+                            store.complete(key, completed(paymentResult));
+                        } else if (cause instanceof RejectedExecutionException) {
+                            store.release(key);
+                        } else {
+                            store.complete(key, new IdempotentResponse(OUTCOME_UNKNOWN, null, new byte[0]));
+                            reconcile(key, request);
+                        }
+                    } finally {
+                        finish(key, result, paymentResult, cause);
+                    }
+                }, storeCalls);
+                yield result;
+            }
+        };
+    }
+
+    @Override
+    public CompletableFuture<Optional<PaymentResult>> lookup(String paymentId) {
+        return delegate.lookup(paymentId);
+    }
+
+    /**
+     * Asks the providers for the payment and records what they know: the result when one of them
+     * has it, a released key when none received it. When they cannot tell, the provisional
+     * response stays and the next retry asks again.
+     */
+    private CompletableFuture<Optional<PaymentResult>> reconcile(String key, PaymentRequest request) {
+        CompletableFuture<Optional<PaymentResult>> lookup;
+        try {
+            lookup = delegate.lookup(request.paymentId());
+        } catch (RuntimeException e) {
+            lookup = CompletableFuture.failedFuture(e);
+        }
+        return lookup.thenApplyAsync(found -> {
+            if (found.isPresent()) {
+                store.complete(key, completed(found.get()));
+            } else {
+                store.releaseProvisional(key);
+            }
+            return found;
+        }, storeCalls);
+    }
+
+    private CompletableFuture<PaymentResult> retryUnknown(String key, PaymentRequest request, CompletableFuture<PaymentResult> result) {
+        reconcile(key, request).whenComplete((found, error) -> {
+            if (error != null) {
+                finish(key, result, null, new TimeoutException("Outcome of payment " + request.paymentId() + " is not known yet"));
+            } else if (found.isPresent()) {
+                finish(key, result, found.get(), null);
+            } else {
+                // never charged: released above, so this attempt claims the key again
+                inFlight.remove(key, result);
+                payAsync(request).whenComplete((paymentResult, retryError) -> finish(key, result, paymentResult, unwrap(retryError)));
+            }
+        });
+        return result;
+    }
+
+    private CompletableFuture<PaymentResult> finish(String key, CompletableFuture<PaymentResult> result,
+                                                    PaymentResult paymentResult, Throwable error) {
+        inFlight.remove(key, result);
+        if (error != null) {
+            result.completeExceptionally(error);
+        } else {
+            result.complete(paymentResult);
+        }
+        return result;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private IdempotentResponse completed(PaymentResult paymentResult) {
+        return new IdempotentResponse(200, "application/json", write(paymentResult));
+    }
+
+    private byte[] write(PaymentResult paymentResult) {
+        try {
+            return objectMapper.writeValueAsBytes(paymentResult);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private PaymentResult read(IdempotentResponse response) {
+        try {
+            return objectMapper.readValue(response.body(), PaymentResult.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        storeCalls.close();
+    }
+}
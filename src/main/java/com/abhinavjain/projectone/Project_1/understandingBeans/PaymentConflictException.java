@@ -0,0 +1,11 @@
+package com.abhinavjain.projectone.Project_1.understandingBeans;
+
+/**
+ * A paymentId that is still being processed, or that was already used for a different payment.
+ */
+public class PaymentConflictException extends IllegalStateException {
+
+    public PaymentConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,27 @@
+package com.abhinavjain.projectone.Project_1.understandingBeans;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking client for a payment provider's batch API.
+ *
+ * Implementations must not block the calling thread: the returned future completes
+ * when the provider answers, with one result per request, in request order.
+ */
+public interface PaymentGateway {
+
+    String provider();
+
+    CompletableFuture<List<PaymentResult>> submitBatch(List<PaymentRequest> requests);
+
+    /**
+     * Status of one payment at the provider, to reconcile payments whose outcome is unknown
+     * (e.g. the batch was sent but timed out). Must know every payment the provider received,
+     * including those it is still processing.
+     *
+     * @return the provider's result, or empty when the provider never received the payment
+     */
+    CompletableFuture<Optional<PaymentResult>> lookup(String paymentId);
+}
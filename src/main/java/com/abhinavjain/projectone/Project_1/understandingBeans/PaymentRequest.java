@@ -0,0 +1,11 @@
+package com.abhinavjain.projectone.Project_1.understandingBeans;
+
+/**
+ * A single payment submitted to an {@link AsyncPaymentService}.
+ *
+ * @param paymentId   caller-chosen id, echoed back in the {@link PaymentResult}
+ * @param amountMinor amount in the currency's minor unit (paise, cents) to avoid floating point
+ * @param currency    ISO 4217 code, e.g. INR
+ */
+public record PaymentRequest(String paymentId, long amountMinor, String currency) {
+}
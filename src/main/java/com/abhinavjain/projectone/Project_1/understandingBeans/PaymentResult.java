@@ -0,0 +1,12 @@
+package com.abhinavjain.projectone.Project_1.understandingBeans;
+
+/**
+ * Outcome of one {@link PaymentRequest}, as reported by the provider's gateway.
+ *
+ * @param paymentId id of the request this result belongs to
+ * @param provider  gateway that processed the payment
+ * @param approved  whether the provider accepted the payment
+ * @param reference provider's transaction reference, or the decline reason
+ */
+public record PaymentResult(String paymentId, String provider, boolean approved, String reference) {
+}
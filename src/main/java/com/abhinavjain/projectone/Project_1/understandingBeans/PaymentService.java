@@ -32,4 +32,11 @@ public interface PaymentService {
      * @return String confirmation message about the payment processing
      */
     String pay();
+
+    /**
+     * Short provider name used in configuration and routing (e.g. "razorpay")
+     *
+     * @return the payment provider this implementation talks to
+     */
+    String provider();
 }
@@ -0,0 +1,139 @@
+package com.abhinavjain.projectone.Project_1.understandingBeans;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency/error tracking and circuit breaker for one payment provider.
+ *
+ * Latency and error rate are exponentially weighted moving averages (EWMA): every call moves
+ * the average alpha of the way towards the new sample, so recent calls count most and no
+ * history has to be stored.
+ *
+ * Circuit breaker states:
+ * - CLOSED: calls allowed; trips to OPEN once minimumCalls calls have been seen and the error
+ *   rate reaches failureRateThreshold or the average latency reaches slowCallNanos
+ * - OPEN: calls rejected until openNanos have passed, then a single trial call is let through
+ * - HALF_OPEN: the trial call is in flight; success closes the breaker (with fresh statistics),
+ *   failure opens it again. A trial that reports nothing for openNanos (lost callback) is
+ *   replaced by a new one, so the breaker cannot stay half-open forever
+ */
+class ProviderHealth {
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final double alpha;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long slowCallNanos;
+    private final long openNanos;
+
+    // guarded by this
+    private State state = State.CLOSED;
+    private long openedAt;
+    private long trialStartedAt;
+    private long calls;
+    private double latencyNanos;
+    private double errorRate;
+
+    ProviderHealth(double alpha, int minimumCalls, double failureRateThreshold, long slowCallNanos, long openNanos) {
+        this.alpha = alpha;
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallNanos = slowCallNanos;
+        this.openNanos = openNanos;
+    }
+
+    /**
+     * @return whether the breaker lets a call through now; moves OPEN to HALF_OPEN once the
+     *         open period is over, so only one caller gets the trial call
+     */
+    synchronized boolean tryAcquire() {
+        return switch (state) {
+            case CLOSED -> true;
+            case HALF_OPEN -> {
+                if (System.nanoTime() - trialStartedAt < openNanos) yield false;
+                trialStartedAt = System.nanoTime();
+                yield true;
+            }
+            case OPEN -> {
+                if (System.nanoTime() - openedAt < openNanos) yield false;
+                state = State.HALF_OPEN;
+                trialStartedAt = System.nanoTime();
+                yield true;
+            }
+        };
+    }
+
+    synchronized void recordSuccess(long elapsedNanos) {
+        if (state == State.HALF_OPEN) {
+            reset(State.CLOSED);
+        }
+        record(elapsedNanos, 0.0);
+    }
+
+    synchronized void recordFailure(long elapsedNanos) {
+        if (state == State.HALF_OPEN) {
+            open();
+            return;
+        }
+        record(elapsedNanos, 1.0);
+    }
+
+    /**
+     * The call was turned away before it reached the provider (e.g. our own queue was full), so
+     * it says nothing about the provider's health. A trial call that ends this way is handed to
+     * the next caller instead of counting as failed.
+     */
+    synchronized void recordNotSent() {
+        if (state == State.HALF_OPEN) {
+            trialStartedAt = System.nanoTime() - openNanos;
+        }
+    }
+
+    /**
+     * Expected cost of a call, used to order healthy providers: average latency, with
+     * failures counted as if they took slowCallNanos.
+     */
+    synchronized double score() {
+        return latencyNanos + errorRate * slowCallNanos;
+    }
+
+    synchronized State state() {
+        return state;
+    }
+
+    synchronized ProviderStatus status(String provider, boolean enabled) {
+        return new ProviderStatus(provider, enabled, state.name(), calls,
+                latencyNanos / TimeUnit.MILLISECONDS.toNanos(1), errorRate);
+    }
+
+    // guarded by this
+    private void record(long elapsedNanos, double error) {
+        calls++;
+        if (calls == 1) {
+            latencyNanos = elapsedNanos;
+            errorRate = error;
+        } else {
+            latencyNanos += alpha * (elapsedNanos - latencyNanos);
+            errorRate += alpha * (error - errorRate);
+        }
+        if (state == State.CLOSED && calls >= minimumCalls
+                && (errorRate >= failureRateThreshold || latencyNanos >= slowCallNanos)) {
+            open();
+        }
+    }
+
+    // guarded by this
+    private void open() {
+        state = State.OPEN;
+        openedAt = System.nanoTime();
+    }
+
+    // guarded by this
+    private void reset(State newState) {
+        state = newState;
+        calls = 0;
+        latencyNanos = 0;
+        errorRate = 0;
+    }
+}
@@ -0,0 +1,15 @@
+package com.abhinavjain.projectone.Project_1.understandingBeans;
+
+/**
+ * Snapshot of one provider's routing state, as shown by GET /payments/routing.
+ *
+ * @param provider     provider name
+ * @param enabled      false when taken out of rotation by an operator
+ * @param circuit      circuit breaker state: CLOSED, OPEN or HALF_OPEN
+ * @param calls        calls recorded since the breaker last closed
+ * @param latencyMs    moving average latency
+ * @param errorRate    moving average error rate (0..1)
+ */
+public record ProviderStatus(String provider, boolean enabled, String circuit, long calls,
+                             double latencyMs, double errorRate) {
+}
@@ -1,6 +1,7 @@
 package com.abhinavjain.projectone.Project_1.understandingBeans;
 
-import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 /**
@@ -12,10 +13,10 @@ import org.springframework.stereotype.Component;
  *    - Spring will create and manage the lifecycle of this object
  *    - Available for dependency injection throughout the application
  * 
- * 2. @ConditionalOnProperty: Conditional bean creation based on application properties
- *    - This bean will only be created if payment.provider=razorpay in application.properties
- *    - Enables configuration-driven component selection
- *    - Useful for environment-specific implementations (dev, test, prod)
+ * 2. Multiple beans of one type: both providers are always loaded
+ *    - RoutingPaymentService (@Primary) is what gets injected as PaymentService
+ *    - It picks between the providers at runtime based on their health
+ *    - payment.provider only sets the initially preferred provider
  * 
  * 3. Interface Implementation: Implements PaymentService contract
  *    - Provides RazorPay-specific payment processing logic
@@ -29,9 +30,10 @@ import org.springframework.stereotype.Component;
  * @author Abhinav Jain
  */
 @Component
-@ConditionalOnProperty(name = "payment.provider", havingValue = "razorpay")
 public class RazorPayPaymentService implements PaymentService {
 
+    private static final Logger log = LoggerFactory.getLogger(RazorPayPaymentService.class);
+
     /**
      * Process payment using RazorPay gateway
      * 
@@ -47,10 +49,12 @@ public class RazorPayPaymentService implements PaymentService {
     @Override
     public String pay() {
         String payment = "RazorPay Payment Gateway";
-        System.out.println("✓ Processing payment through: " + payment);
-        System.out.println("  → Payment method: UPI/Cards/NetBanking");
-        System.out.println("  → Region: India");
-        System.out.println("  → Currency: INR");
+        log.debug("Processing payment through {} (methods: UPI/Cards/NetBanking, region: India, currency: INR)", payment);
         return payment;
     }
+
+    @Override
+    public String provider() {
+        return "razorpay";
+    }
 }
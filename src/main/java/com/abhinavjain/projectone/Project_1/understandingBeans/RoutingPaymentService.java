@@ -0,0 +1,164 @@
+package com.abhinavjain.projectone.Project_1.understandingBeans;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Routing Payment Service
+ *
+ * Loads every PaymentService implementation and decides per payment which provider to use.
+ *
+ * Key Learning Points:
+ * 1. @Primary: when several beans implement PaymentService, this one is injected by default
+ * 2. Collection injection: Spring passes all other PaymentService beans in the list
+ *    (a bean is never injected into itself)
+ * 3. Runtime switching: configuration only sets the starting point; the preferred provider
+ *    and the enabled set can be changed while the application is running
+ *
+ * Routing rules:
+ * - Disabled providers and providers whose circuit breaker is open are skipped
+ * - The preferred provider is tried first when it is available; without a preference
+ *   ("auto"), the healthy provider with the lowest expected latency goes first
+ * - If a provider fails, the payment fails over to the next one; only when every
+ *   provider has failed or is unavailable does pay() throw
+ *
+ * Async payments (POST /payments) are routed by {@link AsyncRoutingPaymentService} with the
+ * same order and breakers.
+ *
+ * @see ProviderHealth
+ */
+@Component
+@Primary
+public class RoutingPaymentService implements PaymentService {
+
+    public static final String AUTO = "auto";
+
+    private final Map<String, PaymentService> providers = new LinkedHashMap<>();
+    private final Map<String, ProviderHealth> health = new LinkedHashMap<>();
+    private final Set<String> disabled = ConcurrentHashMap.newKeySet();
+    private volatile String preferred;
+
+    public RoutingPaymentService(List<PaymentService> paymentServices,
+                                 @Value("${payment.provider:" + AUTO + "}") String preferred,
+                                 @Value("${payment.routing.ewma-alpha:0.2}") double alpha,
+                                 @Value("${payment.routing.minimum-calls:10}") int minimumCalls,
+                                 @Value("${payment.routing.failure-rate-threshold:0.5}") double failureRateThreshold,
+                                 @Value("${payment.routing.slow-call-ms:2000}") long slowCallMs,
+                                 @Value("${payment.routing.open-ms:30000}") long openMs) {
+        for (PaymentService service : paymentServices) {
+            providers.put(service.provider(), service);
+            health.put(service.provider(), new ProviderHealth(alpha, minimumCalls, failureRateThreshold,
+                    TimeUnit.MILLISECONDS.toNanos(slowCallMs), TimeUnit.MILLISECONDS.toNanos(openMs)));
+        }
+        setPreferred(preferred);
+    }
+
+    /**
+     * Pays through the best available provider, failing over on errors.
+     *
+     * @return confirmation from the provider that processed the payment
+     * @throws IllegalStateException when no provider could process the payment
+     */
+    @Override
+    public String pay() {
+        RuntimeException lastFailure = null;
+        for (String provider : routingOrder()) {
+            ProviderHealth providerHealth = health.get(provider);
+            if (!providerHealth.tryAcquire()) continue;
+            long start = System.nanoTime();
+            try {
+                String confirmation = providers.get(provider).pay();
+                providerHealth.recordSuccess(System.nanoTime() - start);
+                return confirmation;
+            } catch (RuntimeException e) {
+                providerHealth.recordFailure(System.nanoTime() - start);
+                lastFailure = e;
+            } catch (Throwable e) {
+                // not failed over, but still recorded: a half-open breaker would otherwise wait for its trial forever
+                providerHealth.recordFailure(System.nanoTime() - start);
+                throw e;
+            }
+        }
+        throw new IllegalStateException("No payment provider available", lastFailure);
+    }
+
+    @Override
+    public String provider() {
+        return "routing";
+    }
+
+    public Set<String> providers() {
+        return providers.keySet();
+    }
+
+    public String getPreferred() {
+        return preferred == null ? AUTO : preferred;
+    }
+
+    /**
+     * @param provider provider to try first, or "auto" to always pick the fastest healthy one
+     */
+    public void setPreferred(String provider) {
+        if (provider == null || provider.isBlank() || AUTO.equalsIgnoreCase(provider)) {
+            preferred = null;
+            return;
+        }
+        requireKnown(provider);
+        preferred = provider;
+    }
+
+    /**
+     * Takes a provider out of rotation (e.g. for provider maintenance) or puts it back,
+     * without a restart. Payments already in progress are not affected.
+     */
+    public void setEnabled(String provider, boolean enabled) {
+        requireKnown(provider);
+        if (enabled) {
+            disabled.remove(provider);
+        } else {
+            disabled.add(provider);
+        }
+    }
+
+    public List<ProviderStatus> status() {
+        List<ProviderStatus> status = new ArrayList<>(health.size());
+        health.forEach((provider, providerHealth) -> status.add(providerHealth.status(provider, !disabled.contains(provider))));
+        return status;
+    }
+
+    // also used by AsyncRoutingPaymentService, so both paths share one set of breakers
+    List<String> routingOrder() {
+        // scores are snapshotted so concurrent calls cannot change them in the middle of the sort
+        Map<String, Double> scores = new LinkedHashMap<>();
+        for (String provider : providers.keySet()) {
+            if (!disabled.contains(provider)) scores.put(provider, health.get(provider).score());
+        }
+        List<String> order = new ArrayList<>(scores.keySet());
+        order.sort(Comparator.comparingDouble(scores::get));
+        String first = preferred;
+        if (first != null && order.remove(first)) {
+            order.addFirst(first);
+        }
+        return order;
+    }
+
+    ProviderHealth health(String provider) {
+        return health.get(provider);
+    }
+
+    private void requireKnown(String provider) {
+        if (!providers.containsKey(provider)) {
+            throw new IllegalArgumentException("Unknown payment provider: " + provider + ", expected one of " + providers.keySet());
+        }
+    }
+}
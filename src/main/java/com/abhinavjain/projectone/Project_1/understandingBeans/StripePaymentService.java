@@ -1,6 +1,7 @@
 package com.abhinavjain.projectone.Project_1.understandingBeans;
 
-import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 /**
@@ -11,11 +12,12 @@ import org.springframework.stereotype.Component;
  * 
  * Key Learning Points:
  * 1. Multiple implementations of the same interface
- * 2. Configuration-based bean selection using @ConditionalOnProperty
+ * 2. Runtime selection: RoutingPaymentService chooses between the loaded providers
  * 3. Clean separation of concerns for different payment providers
  * 
- * To activate this implementation:
- * Set payment.provider=stripe in application.properties
+ * To prefer this implementation:
+ * Set payment.provider=stripe in application.properties, or switch at runtime with
+ * PUT /payments/routing/preferred?provider=stripe
  * 
  * Benefits of this approach:
  * - Easy to switch payment providers without code changes
@@ -26,9 +28,10 @@ import org.springframework.stereotype.Component;
  * @author Abhinav Jain
  */
 @Component
-@ConditionalOnProperty(name = "payment.provider", havingValue = "stripe")
 public class StripePaymentService implements PaymentService {
 
+    private static final Logger log = LoggerFactory.getLogger(StripePaymentService.class);
+
     /**
      * Process payment using Stripe gateway
      * 
@@ -40,10 +43,12 @@ public class StripePaymentService implements PaymentService {
     @Override
     public String pay() {
         String payment = "Stripe Payment Gateway";
-        System.out.println("✓ Processing payment through: " + payment);
-        System.out.println("  → Payment method: Credit/Debit Cards");
-        System.out.println("  → Region: Global");
-        System.out.println("  → Currency: Multi-currency support");
+        log.debug("Processing payment through {} (methods: Credit/Debit Cards, region: Global, currency: multi-currency)", payment);
         return payment;
     }
+
+    @Override
+    public String provider() {
+        return "stripe";
+    }
 }
@@ -0,0 +1,94 @@
+package com.abhinavjain.projectone.Project_1.understandingBeans;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local stand-in for a provider's batch API, used until real gateway clients exist and in tests.
+ *
+ * Each batch is answered after the configured latency by a single scheduler thread, so thousands
+ * of concurrent payments cost a scheduled task each instead of a blocked thread. A fraction of
+ * payments (failureRate) is declined to exercise error handling. The last 100,000 payments
+ * received can be looked up, also while their batch is still being processed.
+ */
+public class StubPaymentGateway implements PaymentGateway, AutoCloseable {
+
+    private final String provider;
+    private final Duration latency;
+    private final double failureRate;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicInteger batches = new AtomicInteger();
+    private final ConcurrentMap<String, CompletableFuture<PaymentResult>> received = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .<String, CompletableFuture<PaymentResult>>build()
+            .asMap();
+
+    public StubPaymentGateway(String provider, Duration latency, double failureRate) {
+        this.provider = provider;
+        this.latency = latency;
+        this.failureRate = failureRate;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name("stub-gateway-" + provider).factory());
+    }
+
+    @Override
+    public String provider() {
+        return provider;
+    }
+
+    @Override
+    public CompletableFuture<List<PaymentResult>> submitBatch(List<PaymentRequest> requests) {
+        batches.incrementAndGet();
+        List<CompletableFuture<PaymentResult>> results = new ArrayList<>(requests.size());
+        for (PaymentRequest request : requests) {
+            CompletableFuture<PaymentResult> result = new CompletableFuture<>();
+            received.put(request.paymentId(), result);
+            results.add(result);
+        }
+        CompletableFuture<List<PaymentResult>> response = new CompletableFuture<>();
+        scheduler.schedule(() -> {
+            for (int i = 0; i < requests.size(); i++) {
+                results.get(i).complete(process(requests.get(i)));
+            }
+            response.complete(results.stream().map(CompletableFuture::join).toList());
+        }, latency.toNanos(), TimeUnit.NANOSECONDS);
+        return response;
+    }
+
+    @Override
+    public CompletableFuture<Optional<PaymentResult>> lookup(String paymentId) {
+        CompletableFuture<PaymentResult> result = received.get(paymentId);
+        return result == null ? CompletableFuture.completedFuture(Optional.empty()) : result.thenApply(Optional::of);
+    }
+
+    /**
+     * @return number of batch calls received, i.e. provider round trips
+     */
+    public int batchCount() {
+        return batches.get();
+    }
+
+    private PaymentResult process(PaymentRequest request) {
+        if (failureRate > 0 && ThreadLocalRandom.current().nextDouble() < failureRate) {
+            return new PaymentResult(request.paymentId(), provider, false, "declined");
+        }
+        return new PaymentResult(request.paymentId(), provider, true, provider + "-" + UUID.randomUUID());
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,21 @@
+-- Student table as created by earlier ddl-auto=update runs, so existing databases can be
+-- baselined (spring.flyway.baseline-on-migrate) and migrated without losing data.
+create table if not exists student (
+    id      bigint primary key,
+    name    varchar(255),
+    email   varchar(255),
+    version bigint not null default 0
+);
+
+-- added with optimistic locking; older databases do not have it yet
+alter table student add column if not exists version bigint not null default 0;
+
+-- ids come from a sequence (batched inserts), Hibernate reserves 50 per call.
+-- Rows inserted before used an identity column: start the sequence above them. This replaces
+-- data-postgresql.sql, which did the same on every startup while Hibernate managed the schema.
+create sequence if not exists student_seq start with 1 increment by 50;
+select setval('student_seq', greatest((select coalesce(max(id), 0) from student) + 50, (select last_value from student_seq)));
+
+create index if not exists idx_student_name on student (name);
+-- fails if duplicate emails already exist: clean those up before migrating
+create unique index if not exists ux_student_email on student (email);
@@ -0,0 +1,3 @@
+-- GET /students/search?nameMatch=prefix runs "name like 'Jo%'". Outside the C locale a plain
+-- btree index cannot answer LIKE, the pattern_ops index compares byte-wise and can.
+create index if not exists idx_student_name_pattern on student (name varchar_pattern_ops);
@@ -0,0 +1,12 @@
+-- persistent store behind the Idempotency-Key header (idempotency.store=jdbc)
+create table if not exists idempotency_keys (
+    idempotency_key       varchar(512) primary key,
+    fingerprint           varchar(64)  not null,
+    claimed_at            timestamp(6) with time zone not null,
+    expires_at            timestamp(6) with time zone not null,
+    response_status       integer,
+    response_content_type varchar(255),
+    response_body         bytea
+);
+
+create index if not exists idx_idempotency_expires_at on idempotency_keys (expires_at);
@@ -0,0 +1,16 @@
+-- transactional outbox behind GET /students/changes; stream_offset is set by the dispatcher
+create sequence if not exists student_outbox_seq start with 1 increment by 50;
+
+create table if not exists student_outbox (
+    id            bigint primary key,
+    stream_offset bigint,
+    student_id    bigint       not null,
+    type          varchar(16)  not null,
+    payload       varchar(4096),
+    created_at    timestamp(6) with time zone not null
+);
+
+create unique index if not exists ux_student_outbox_stream_offset on student_outbox (stream_offset);
+create index if not exists idx_student_outbox_created_at on student_outbox (created_at);
+-- the dispatcher's "stream_offset is null order by id" scan stays small however long the stream gets
+create index if not exists idx_student_outbox_pending on student_outbox (id) where stream_offset is null;
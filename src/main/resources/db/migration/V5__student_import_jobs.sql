@@ -0,0 +1,27 @@
+-- background imports of POST /students/imports; the row counters are the resume checkpoint
+create table if not exists student_import_job (
+    id             varchar(36)   primary key,
+    status         varchar(16)   not null,
+    format         varchar(16)   not null,
+    file_path      varchar(1024) not null,
+    file_name      varchar(255),
+    file_size      bigint        not null default 0,
+    rows_processed bigint        not null default 0,
+    rows_imported  bigint        not null default 0,
+    rows_failed    bigint        not null default 0,
+    error          varchar(1024),
+    created_at     timestamp(6) with time zone not null,
+    updated_at     timestamp(6) with time zone,
+    finished_at    timestamp(6) with time zone
+);
+
+create sequence if not exists student_import_error_seq start with 1 increment by 50;
+
+create table if not exists student_import_error (
+    id         bigint        primary key,
+    job_id     varchar(36)   not null,
+    row_number bigint        not null,
+    message    varchar(1024) not null
+);
+
+create index if not exists idx_student_import_error_job_row on student_import_error (job_id, row_number);
@@ -0,0 +1,6 @@
+-- GET /students/search?emailDomain= ran "email like '%@domain'": a leading wildcard no index can
+-- serve. The domain now has its own column, kept in sync by the Student entity. The index also
+-- covers id, so the keyset "id > :after order by id" is read from the index in order.
+alter table student add column if not exists email_domain varchar(255);
+update student set email_domain = substring(email from '@([^@]*)$') where email_domain is null;
+create index if not exists idx_student_email_domain on student (email_domain, id);
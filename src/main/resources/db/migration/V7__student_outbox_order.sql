@@ -0,0 +1,16 @@
+-- student_version: the dispatcher numbers each student's changes in version order, not id order
+-- (rows written before this migration keep a null version and fall back to id order)
+alter table student_outbox add column if not exists student_version bigint;
+
+-- "every pending change of these students", used when a batch holds only part of them
+create index if not exists idx_student_outbox_pending_student on student_outbox (student_id) where stream_offset is null;
+
+-- one row, locked by every dispatch: offsets continue from here whichever instance dispatches
+create table if not exists student_outbox_head (
+    id          integer primary key,
+    last_offset bigint not null
+);
+
+insert into student_outbox_head (id, last_offset)
+select 1, coalesce(max(stream_offset), 0) from student_outbox
+on conflict (id) do nothing;
@@ -0,0 +1,71 @@
+package com.abhinavjain.projectone.Project_1;
+
+import com.abhinavjain.projectone.Project_1.idempotency.IdempotencyClaim;
+import com.abhinavjain.projectone.Project_1.idempotency.IdempotencyKeys;
+import com.abhinavjain.projectone.Project_1.idempotency.IdempotencyStore;
+import com.abhinavjain.projectone.Project_1.idempotency.IdempotentResponse;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.AddStudentRequestDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.BulkResultDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.StudentSearchRequestDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.service.StudentService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The other tests get their schema from Hibernate on H2. This one runs the real migrations on
+ * PostgreSQL and lets Hibernate validate the entities against the result, so a migration that
+ * drifts from its entity fails here instead of at startup in production.
+ */
+@SpringBootTest(properties = {"spring.flyway.enabled=true", "spring.jpa.hibernate.ddl-auto=validate", "idempotency.store=jdbc"})
+@Testcontainers(disabledWithoutDocker = true)
+class FlywayMigrationTests {
+
+	@Container
+	@ServiceConnection
+	static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+	@Autowired
+	private Flyway flyway;
+
+	@Autowired
+	private StudentService studentService;
+
+	@Autowired
+	private IdempotencyStore idempotencyStore;
+
+	@Test
+	void migratedSchemaMatchesTheEntities() {
+		// getting here means ddl-auto=validate accepted every table the migrations created
+		assertEquals(0, flyway.info().pending().length);
+
+		// more rows than one sequence allocation (50), searched through the email_domain column
+		BulkResultDto created = studentService.createStudents(IntStream.range(0, 60).mapToObj(i -> {
+			AddStudentRequestDto student = new AddStudentRequestDto();
+			student.setName("Migrated Student " + i);
+			student.setEmail("student" + i + "@migrated.test");
+			return student;
+		}).toList());
+		assertEquals(60, created.getSucceeded());
+		StudentSearchRequestDto search = new StudentSearchRequestDto();
+		search.setEmailDomain("migrated.test");
+		assertEquals(60, studentService.searchStudents(search, null, 100).getStudents().size());
+
+		String fingerprint = IdempotencyKeys.fingerprint("{}");
+		assertEquals(IdempotencyClaim.Outcome.NEW, idempotencyStore.claim("POST /students migrated", fingerprint).outcome());
+		byte[] body = "{\"id\":1}".getBytes();
+		idempotencyStore.complete("POST /students migrated", new IdempotentResponse(201, "application/json", body));
+		assertArrayEquals(body, idempotencyStore.claim("POST /students migrated", fingerprint).response().body());
+	}
+}
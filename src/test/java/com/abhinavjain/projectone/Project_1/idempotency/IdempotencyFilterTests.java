@@ -0,0 +1,75 @@
+package com.abhinavjain.projectone.Project_1.idempotency;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "idempotency.max-body-size=1KB")
+@AutoConfigureMockMvc
+class IdempotencyFilterTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private IdempotencyStore store;
+
+	@Test
+	void retryWithTheSameKeyReplaysTheFirstResponse() throws Exception {
+		String body = "{\"name\": \"Keyed Student\", \"email\": \"keyed.student@idempotency.test\"}";
+		String created = mockMvc.perform(createStudent("create-keyed-student", body))
+				.andExpect(status().isCreated())
+				.andExpect(header().doesNotExist("Idempotent-Replayed"))
+				.andReturn().getResponse().getContentAsString();
+
+		mockMvc.perform(createStudent("create-keyed-student", body))
+				.andExpect(status().isCreated())
+				.andExpect(header().string("Idempotent-Replayed", "true"))
+				.andExpect(content().json(created, true));
+	}
+
+	@Test
+	void sameKeyWithADifferentBodyIsRejected() throws Exception {
+		mockMvc.perform(createStudent("create-mismatched-student",
+						"{\"name\": \"First Body\", \"email\": \"first.body@idempotency.test\"}"))
+				.andExpect(status().isCreated());
+
+		mockMvc.perform(createStudent("create-mismatched-student",
+						"{\"name\": \"Second Body\", \"email\": \"second.body@idempotency.test\"}"))
+				.andExpect(status().isUnprocessableEntity());
+	}
+
+	@Test
+	void retryWhileTheFirstRequestIsRunningGets409() throws Exception {
+		String body = "{\"name\": \"Slow Student\", \"email\": \"slow.student@idempotency.test\"}";
+		// what the filter claims for the first request, which has not completed yet
+		store.claim("POST /students create-in-flight-student", IdempotencyKeys.fingerprint(body));
+
+		mockMvc.perform(createStudent("create-in-flight-student", body))
+				.andExpect(status().isConflict())
+				.andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+	}
+
+	@Test
+	void bodyOverTheLimitGets413() throws Exception {
+		String name = "x".repeat(2048);
+		mockMvc.perform(createStudent("create-oversized-student",
+						"{\"name\": \"" + name + "\", \"email\": \"oversized@idempotency.test\"}"))
+				.andExpect(status().isPayloadTooLarge());
+	}
+
+	private static MockHttpServletRequestBuilder createStudent(String key, String body) {
+		return post("/students").header(IdempotencyKeys.HEADER, key)
+				.contentType(MediaType.APPLICATION_JSON).content(body);
+	}
+}
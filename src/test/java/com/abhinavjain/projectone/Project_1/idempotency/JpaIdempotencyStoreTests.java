@@ -0,0 +1,48 @@
+package com.abhinavjain.projectone.Project_1.idempotency;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+@SpringBootTest(properties = "idempotency.store=jdbc")
+class JpaIdempotencyStoreTests {
+
+	@Autowired
+	private IdempotencyStore store;
+
+	@Test
+	void claimCompleteAndReplay() {
+		assertInstanceOf(JpaIdempotencyStore.class, store);
+		String key = "POST /students jpa-store-test";
+		String fingerprint = IdempotencyKeys.fingerprint("{\"name\":\"Jpa\"}".getBytes(StandardCharsets.UTF_8));
+
+		assertEquals(IdempotencyClaim.Outcome.NEW, store.claim(key, fingerprint).outcome());
+		assertEquals(IdempotencyClaim.Outcome.IN_FLIGHT, store.claim(key, fingerprint).outcome());
+		assertEquals(IdempotencyClaim.Outcome.MISMATCH, store.claim(key, IdempotencyKeys.fingerprint(new byte[]{1})).outcome());
+
+		byte[] body = "{\"id\":1,\"name\":\"Jpa\"}".getBytes(StandardCharsets.UTF_8);
+		store.complete(key, new IdempotentResponse(201, "application/json", body));
+
+		IdempotencyClaim replay = store.claim(key, fingerprint);
+		assertEquals(IdempotencyClaim.Outcome.COMPLETED, replay.outcome());
+		assertEquals(201, replay.response().status());
+		assertEquals("application/json", replay.response().contentType());
+		assertArrayEquals(body, replay.response().body());
+	}
+
+	@Test
+	void releasedKeyCanBeClaimedAgain() {
+		String key = "POST /students jpa-store-release-test";
+		String fingerprint = IdempotencyKeys.fingerprint(new byte[]{2});
+
+		assertEquals(IdempotencyClaim.Outcome.NEW, store.claim(key, fingerprint).outcome());
+		store.release(key);
+		assertEquals(IdempotencyClaim.Outcome.NEW, store.claim(key, fingerprint).outcome());
+	}
+}
@@ -0,0 +1,113 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.controller;
+
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.AddStudentRequestDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.repository.StudentRepository;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.service.StudentService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class StudentConditionalRequestTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private StudentService studentService;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Test
+	void matchingIfMatchApplies() throws Exception {
+		Long id = create("Matching Student", "matching@if-match.test");
+
+		mockMvc.perform(put("/students/{id}", id).header(HttpHeaders.IF_MATCH, eTag(id, 0))
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"name\": \"Matched Student\", \"email\": \"matching@if-match.test\"}"))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, eTag(id, 1)));
+	}
+
+	@Test
+	void staleIfMatchIsRejected() throws Exception {
+		Long id = create("Stale Student", "stale@if-match.test");
+		mockMvc.perform(rename(id, "First Writer").header(HttpHeaders.IF_MATCH, eTag(id, 0)))
+				.andExpect(status().isOk());
+
+		mockMvc.perform(rename(id, "Second Writer").header(HttpHeaders.IF_MATCH, eTag(id, 0)))
+				.andExpect(status().isPreconditionFailed());
+		mockMvc.perform(delete("/students/{id}", id).header(HttpHeaders.IF_MATCH, eTag(id, 0)))
+				.andExpect(status().isPreconditionFailed());
+		assertEquals("First Writer", studentRepository.findById(id).orElseThrow().getName());
+	}
+
+	@Test
+	void ifMatchOnADeletedStudentIsRejected() throws Exception {
+		Long id = create("Deleted Student", "deleted@if-match.test");
+		mockMvc.perform(delete("/students/{id}", id).header(HttpHeaders.IF_MATCH, eTag(id, 0)))
+				.andExpect(status().isNoContent());
+
+		mockMvc.perform(delete("/students/{id}", id).header(HttpHeaders.IF_MATCH, eTag(id, 0)))
+				.andExpect(status().isPreconditionFailed());
+		mockMvc.perform(rename(id, "Ghost Student").header(HttpHeaders.IF_MATCH, eTag(id, 0)))
+				.andExpect(status().isPreconditionFailed());
+		assertFalse(studentRepository.existsById(id));
+	}
+
+	@Test
+	void anyOfSeveralTagsMayMatch() throws Exception {
+		Long id = create("Tagged Student", "tagged@if-match.test");
+		Long other = id + 1_000_000;
+
+		mockMvc.perform(rename(id, "Other Students Tags").header(HttpHeaders.IF_MATCH, eTag(other, 0) + ", \"junk\""))
+				.andExpect(status().isPreconditionFailed());
+		mockMvc.perform(rename(id, "Two Versions").header(HttpHeaders.IF_MATCH, eTag(id, 0) + ", " + eTag(id, 1)))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(rename(id, "Second Tag Matches").header(HttpHeaders.IF_MATCH, eTag(other, 3) + ", " + eTag(id, 0)))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, eTag(id, 1)));
+		mockMvc.perform(rename(id, "Any Version").header(HttpHeaders.IF_MATCH, "*"))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	void expectedVersionReadsStrongAndWeakTags() {
+		assertEquals(4L, StudentETags.expectedVersion(12L, "\"12-4\""));
+		assertEquals(4L, StudentETags.expectedVersion(12L, "W/\"12-4\""));
+		assertEquals(4L, StudentETags.expectedVersion(12L, "W/\"12-4\", \"12-4\""));
+		assertNull(StudentETags.expectedVersion(12L, null));
+		assertNull(StudentETags.expectedVersion(12L, "\"12-4\", *"));
+	}
+
+	private Long create(String name, String email) {
+		AddStudentRequestDto request = new AddStudentRequestDto();
+		request.setName(name);
+		request.setEmail(email);
+		return studentService.createdNewStudent(request).getId();
+	}
+
+	private static MockHttpServletRequestBuilder rename(Long id, String name) {
+		return patch("/students/{id}", id).contentType(MediaType.APPLICATION_JSON).content("{\"name\": \"" + name + "\"}");
+	}
+
+	private static String eTag(Long id, long version) {
+		return "W/\"" + id + "-" + version + "\"";
+	}
+}
@@ -0,0 +1,82 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.controller;
+
+import com.abhinavjain.projectone.Project_1.learningRestAPI.config.StudentColumnarHttpMessageConverter;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.AddStudentRequestDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.service.StudentService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class StudentEncodingTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private StudentService studentService;
+
+	@Test
+	void columnarAcceptGetsOneArrayPerField() throws Exception {
+		Long id = create("Columnar Student", "columnar.student@encoding.test");
+
+		mockMvc.perform(get("/students/search").param("emailDomain", "encoding.test")
+						.accept(StudentColumnarHttpMessageConverter.MEDIA_TYPE))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith(StudentColumnarHttpMessageConverter.MEDIA_TYPE))
+				.andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+				.andExpect(jsonPath("$.ids[0]").value(id))
+				.andExpect(jsonPath("$.names[0]").value("Columnar Student"))
+				.andExpect(jsonPath("$.emails[0]").value("columnar.student@encoding.test"))
+				.andExpect(jsonPath("$.students").doesNotExist());
+	}
+
+	@Test
+	void wildcardAcceptKeepsPlainJson() throws Exception {
+		create("Plain Student", "plain.student@encoding-plain.test");
+
+		mockMvc.perform(get("/students/search").param("emailDomain", "encoding-plain.test").accept(MediaType.ALL))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+				.andExpect(jsonPath("$.students[0].email").value("plain.student@encoding-plain.test"))
+				.andExpect(jsonPath("$.ids").doesNotExist());
+	}
+
+	@Test
+	void singleStudentETagIsWeakAndStillWorksForIfMatch() throws Exception {
+		Long id = create("Tagged Student", "tagged.student@encoding-tagged.test");
+		String eTag = "W/\"" + id + "-0\"";
+
+		mockMvc.perform(get("/students/{id}", id).accept(MediaType.APPLICATION_CBOR))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, eTag))
+				.andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)));
+		mockMvc.perform(get("/students/{id}", id).header(HttpHeaders.IF_NONE_MATCH, eTag))
+				.andExpect(status().isNotModified());
+		mockMvc.perform(patch("/students/{id}", id).header(HttpHeaders.IF_MATCH, eTag)
+						.contentType(MediaType.APPLICATION_JSON).content("{\"name\": \"Retagged Student\"}"))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, "W/\"" + id + "-1\""))
+				.andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)));
+	}
+
+	private Long create(String name, String email) {
+		AddStudentRequestDto request = new AddStudentRequestDto();
+		request.setName(name);
+		request.setEmail(email);
+		return studentService.createdNewStudent(request).getId();
+	}
+}
@@ -0,0 +1,94 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.datasource;
+
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.AddStudentRequestDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.StudentDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.service.StudentService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Routing between two embedded H2 databases: studentDB (primary, from the test
+ * application.properties) and replica0. The schema is only created on the primary, so
+ * replica0 stands in for a replica that has not caught up yet.
+ */
+@SpringBootTest(properties = {
+		"datasource.replicas.enabled=true",
+		"datasource.replicas.instances[0].url=jdbc:h2:mem:replica0;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+		"datasource.replicas.instances[0].username=sa",
+		"datasource.replicas.sticky-window=300ms"
+})
+class ReplicaRoutingTests {
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private StudentService studentService;
+
+	@AfterEach
+	void clearClient() {
+		ReadYourWritesFilter.clearClient();
+	}
+
+	@Test
+	void readOnlyTransactionsGoToTheReplica() {
+		assertTrue(databaseUsedBy(true).contains("replica0"));
+	}
+
+	@Test
+	void writeTransactionsGoToThePrimary() {
+		assertTrue(databaseUsedBy(false).contains("studentdb"));
+	}
+
+	@Test
+	void clientReadsItsOwnWritesFromThePrimaryDuringTheStickyWindow() throws InterruptedException {
+		ReadYourWritesFilter.bindClient("writer");
+		databaseUsedBy(false);
+		assertTrue(databaseUsedBy(true).contains("studentdb"));
+
+		ReadYourWritesFilter.bindClient("someone-else");
+		assertTrue(databaseUsedBy(true).contains("replica0"));
+
+		Thread.sleep(500);
+		ReadYourWritesFilter.bindClient("writer");
+		assertTrue(databaseUsedBy(true).contains("replica0"));
+	}
+
+	@Test
+	void cacheFillsReadFromThePrimary() {
+		assertTrue(PrimaryReads.call(() -> databaseUsedBy(true)).contains("studentdb"));
+
+		AddStudentRequestDto request = new AddStudentRequestDto();
+		request.setName("Replica Lag");
+		request.setEmail("replica.lag@example.com");
+		StudentDto created = studentService.createdNewStudent(request);
+		ReadYourWritesFilter.bindClient("someone-else");
+		assertEquals(created.getEmail(), studentService.getStudentByID(created.getId()).getEmail());
+	}
+
+	private String databaseUsedBy(boolean readOnly) {
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		transaction.setReadOnly(readOnly);
+		return transaction.execute(status -> {
+			try {
+				return DataSourceUtils.getConnection(dataSource).getMetaData().getURL().toLowerCase();
+			} catch (SQLException e) {
+				throw new IllegalStateException(e);
+			}
+		});
+	}
+}
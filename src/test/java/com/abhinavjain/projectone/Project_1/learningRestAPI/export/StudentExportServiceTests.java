@@ -0,0 +1,67 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.export;
+
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.AddStudentRequestDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.service.StudentService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "export.directory=${java.io.tmpdir}/student-exports-test")
+class StudentExportServiceTests {
+
+	@Autowired
+	private StudentExportService studentExportService;
+
+	@Autowired
+	private StudentService studentService;
+
+	@Test
+	void reusesTheSnapshotUntilTheTableChanges() throws Exception {
+		create("Export One", "export.one@example.com");
+		create("Export Two", "export.two@example.com");
+
+		StudentExportDto first = studentExportService.request(StudentExportService.Format.NDJSON);
+		StudentExportDto again = studentExportService.request(StudentExportService.Format.NDJSON);
+		assertEquals(first.getGeneration(), again.getGeneration());
+
+		Path file = awaitReady(first.getGeneration());
+		List<String> lines;
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+				new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+			lines = reader.lines().toList();
+		}
+		assertTrue(lines.stream().anyMatch(line -> line.contains("\"email\":\"export.one@example.com\"")));
+		assertTrue(lines.stream().anyMatch(line -> line.contains("\"email\":\"export.two@example.com\"")));
+
+		create("Export Three", "export.three@example.com");
+		assertNotEquals(first.getGeneration(), studentExportService.request(StudentExportService.Format.NDJSON).getGeneration());
+	}
+
+	private void create(String name, String email) {
+		AddStudentRequestDto request = new AddStudentRequestDto();
+		request.setName(name);
+		request.setEmail(email);
+		studentService.createdNewStudent(request);
+	}
+
+	private Path awaitReady(String generation) throws InterruptedException {
+		for (int i = 0; i < 100; i++) {
+			var file = studentExportService.readyFile(generation);
+			if (file.isPresent()) return file.get();
+			Thread.sleep(100);
+		}
+		throw new AssertionError("export " + generation + " was not written");
+	}
+}
@@ -0,0 +1,62 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.importjob;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "import.chunk-size=2")
+class StudentImportServiceTests {
+
+	@Autowired
+	private StudentImportService studentImportService;
+
+	@Test
+	void importsValidRowsAndReportsRejectedOnes() throws Exception {
+		String csv = """
+				name,email
+				Import One,import.one@example.com
+				Import Two,not-an-email
+				Import Three,import.three@example.com
+				Import Again,import.one@example.com
+
+				Import Five,import.five@example.com
+				""";
+		StudentImportJobDto job = studentImportService.submit(
+				new MockMultipartFile("file", "students.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8)), null);
+
+		StudentImportJobDto done = awaitFinished(job.getId());
+		assertEquals(StudentImportJob.Status.COMPLETED, done.getStatus());
+		assertEquals(5, done.getRowsProcessed());
+		assertEquals(3, done.getRowsImported());
+		assertEquals(2, done.getRowsFailed());
+
+		List<StudentImportErrorDto> errors = studentImportService.errors(job.getId(), 0, 10);
+		assertEquals(List.of(2L, 4L), errors.stream().map(StudentImportErrorDto::getRowNumber).toList());
+		assertTrue(errors.get(0).getMessage().startsWith("email:"));
+	}
+
+	@Test
+	void rejectsFilesOfUnknownFormat() {
+		assertEquals(StudentImportJob.Format.NDJSON, StudentImportService.resolveFormat(null, "students.jsonl", null));
+		assertEquals(StudentImportJob.Format.CSV, StudentImportService.resolveFormat("csv", "students.txt", null));
+		assertThrows(IllegalArgumentException.class,
+				() -> StudentImportService.resolveFormat(null, "students.xlsx", "application/octet-stream"));
+	}
+
+	private StudentImportJobDto awaitFinished(String id) throws InterruptedException {
+		for (int i = 0; i < 100; i++) {
+			StudentImportJobDto job = studentImportService.find(id).orElseThrow();
+			if (job.getStatus() == StudentImportJob.Status.COMPLETED || job.getStatus() == StudentImportJob.Status.FAILED) return job;
+			Thread.sleep(100);
+		}
+		throw new AssertionError("import " + id + " did not finish");
+	}
+}
@@ -0,0 +1,62 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.monitoring;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("oltp")
+class ConnectionPoolProfileTests {
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private PoolCapacityMonitor poolCapacityMonitor;
+
+	@Test
+	void oltpProfileConfiguresAFixedSizePool() throws Exception {
+		HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+
+		assertEquals(20, pool.getMaximumPoolSize());
+		assertEquals(20, pool.getMinimumIdle());
+		assertEquals(2000, pool.getConnectionTimeout());
+	}
+
+	@Test
+	void poolGaugesAndAcquireTimerAreExported() throws Exception {
+		try (Connection connection = dataSource.getConnection()) {
+			assertNotNull(connection);
+		}
+
+		assertNotNull(meterRegistry.find("hikaricp.connections.active").gauge());
+		assertNotNull(meterRegistry.find("hikaricp.connections.idle").gauge());
+		assertNotNull(meterRegistry.find("hikaricp.connections.pending").gauge());
+		assertNotNull(meterRegistry.find("hikaricp.connections.acquire").timer());
+		assertNotNull(meterRegistry.find("db.pool.request.concurrency").gauge());
+	}
+
+	@Test
+	void capacityMonitorOnlyCountsDatabaseBackedRequests() {
+		assertFalse(poolCapacityMonitor.shouldNotFilter(new MockHttpServletRequest("GET", "/students/1")));
+		assertFalse(poolCapacityMonitor.shouldNotFilter(new MockHttpServletRequest("POST", "/payments/pay")));
+		assertTrue(poolCapacityMonitor.shouldNotFilter(new MockHttpServletRequest("GET", "/actuator/health")));
+		assertTrue(poolCapacityMonitor.shouldNotFilter(new MockHttpServletRequest("GET", "/actuator/prometheus")));
+		assertTrue(poolCapacityMonitor.shouldNotFilter(new MockHttpServletRequest("GET", "/favicon.ico")));
+	}
+}
@@ -0,0 +1,118 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.outbox;
+
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.AddStudentRequestDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.StudentDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.service.StudentService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// the scheduled run is pushed out of the way, the test dispatches by hand;
+// batches of 2 so a student's changes do not fit into one
+@SpringBootTest(properties = {"outbox.dispatcher.enabled=true", "outbox.dispatch-interval-ms=3600000", "outbox.batch-size=2"})
+class StudentOutboxTests {
+
+	@Autowired
+	private StudentService studentService;
+
+	@Autowired
+	private StudentOutboxDispatcher dispatcher;
+
+	@Autowired
+	private StudentChangeEventRepository repository;
+
+	@Autowired
+	private StudentOutboxHeadRepository headRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Test
+	void numbersEveryChangeInCommitOrder() {
+		dispatcher.dispatch();
+		long before = repository.findMaxStreamOffset().orElse(0L);
+
+		AddStudentRequestDto request = new AddStudentRequestDto();
+		request.setName("Outbox Student");
+		request.setEmail("outbox.student@example.com");
+		StudentDto created = studentService.createdNewStudent(request);
+		studentService.updatePartialStudent(created.getId(), Map.of("name", "Renamed Student"), null);
+		studentService.deleteStudent(created.getId(), null);
+		dispatcher.dispatch();
+
+		List<StudentChangeEvent> events = repository.findByStreamOffsetGreaterThanOrderByStreamOffsetAsc(before, Limit.of(10));
+		assertEquals(List.of(StudentChangeEvent.Type.CREATED, StudentChangeEvent.Type.UPDATED, StudentChangeEvent.Type.DELETED),
+				events.stream().map(StudentChangeEvent::getType).toList());
+		for (int i = 0; i < events.size(); i++) {
+			assertEquals(before + i + 1, events.get(i).getStreamOffset());
+			assertEquals(created.getId(), events.get(i).getStudentId());
+		}
+		assertTrue(events.get(1).getPayload().contains("\"name\":\"Renamed Student\""));
+		assertNull(events.get(2).getPayload());
+	}
+
+	@Test
+	void numbersEachStudentsChangesInVersionOrderWhateverTheirIds() {
+		dispatcher.dispatch();
+		long before = repository.findMaxStreamOffset().orElse(0L);
+
+		// ids taken out of order, e.g. from the id blocks of two instances
+		for (long version : List.of(2L, 1L, 0L)) {
+			StudentChangeEvent event = new StudentChangeEvent();
+			event.setStudentId(-1L);
+			event.setStudentVersion(version);
+			event.setType(version == 0 ? StudentChangeEvent.Type.CREATED : StudentChangeEvent.Type.UPDATED);
+			event.setCreatedAt(Instant.now());
+			repository.save(event);
+		}
+		dispatcher.dispatch();
+
+		List<StudentChangeEvent> events = repository.findByStreamOffsetGreaterThanOrderByStreamOffsetAsc(before, Limit.of(10));
+		assertEquals(List.of(0L, 1L, 2L), events.stream().map(StudentChangeEvent::getStudentVersion).toList());
+		assertEquals(before + 3, repository.findMaxStreamOffset().orElseThrow());
+	}
+
+	@Test
+	void missingHeadIsSeededOnceWhenDispatchersRace() throws Exception {
+		dispatcher.dispatch();
+		long numbered = repository.findMaxStreamOffset().orElse(0L);
+		headRepository.deleteAllInBatch();
+
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		CountDownLatch firstInserted = new CountDownLatch(1);
+		CompletableFuture<Integer> first = CompletableFuture.supplyAsync(() -> transaction.execute(status -> {
+			int inserted = headRepository.insertIfAbsent(numbered);
+			firstInserted.countDown();
+			sleep(200); // still uncommitted while the second one inserts
+			return inserted;
+		}));
+		// bounded: if the first insert fails, first.get() below reports why
+		firstInserted.await(10, TimeUnit.SECONDS);
+		CompletableFuture<Integer> second = CompletableFuture.supplyAsync(() -> transaction.execute(status -> headRepository.insertIfAbsent(numbered)));
+
+		assertEquals(1, first.get() + second.get());
+		assertEquals(numbered, headRepository.findById(StudentOutboxHead.ID).orElseThrow().getLastOffset());
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,103 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.ratelimit;
+
+import com.abhinavjain.projectone.Project_1.learningRestAPI.datasource.ReadYourWritesFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimiterTests {
+
+	private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+	@Test
+	void allowsBurstThenSustainedRatePerClient() {
+		GcraRateLimiter limiter = new GcraRateLimiter(10, 5, 1_000);
+		long now = 1_000 * SECOND;
+
+		for (int i = 0; i < 5; i++) {
+			assertEquals(0, limiter.tryAcquire("a", now));
+		}
+		long wait = limiter.tryAcquire("a", now);
+		assertTrue(wait > 0 && wait <= SECOND / 10, "expected to wait one interval, got " + wait);
+		assertEquals(0, limiter.tryAcquire("b", now), "clients have separate buckets");
+		assertEquals(0, limiter.tryAcquire("a", now + SECOND / 10));
+	}
+
+	@Test
+	void reservesPartOfTheConcurrencyLimitForWrites() {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 2, 100, SECOND, 0.5, 0.2);
+
+		for (int i = 0; i < 8; i++) {
+			assertTrue(limiter.tryAcquire(false));
+		}
+		assertFalse(limiter.tryAcquire(false));
+		assertTrue(limiter.tryAcquire(true));
+		assertTrue(limiter.tryAcquire(true));
+		assertFalse(limiter.tryAcquire(true));
+	}
+
+	@Test
+	void shrinksWhenSlowAndGrowsWhenFast() throws InterruptedException {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 2, 100, TimeUnit.MILLISECONDS.toNanos(1), 0.5, 0.0);
+
+		Thread.sleep(2);
+		assertTrue(limiter.tryAcquire(false));
+		limiter.release(SECOND);
+		assertEquals(5.0, limiter.limit());
+
+		for (int i = 0; i < 50; i++) {
+			assertTrue(limiter.tryAcquire(false));
+			limiter.release(0);
+		}
+		assertTrue(limiter.limit() > 10, "expected additive increase, got " + limiter.limit());
+		assertEquals(0, limiter.inFlight());
+	}
+
+	@Test
+	void unmeasuredRequestsTakeASlotWithoutMovingTheLimit() throws InterruptedException {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 100, TimeUnit.MILLISECONDS.toNanos(1), 0.5, 0.0);
+
+		assertTrue(limiter.tryAcquire(true));
+		assertTrue(limiter.tryAcquire(true));
+		assertFalse(limiter.tryAcquire(false));
+
+		Thread.sleep(2);
+		limiter.releaseUnmeasured();
+		limiter.releaseUnmeasured();
+		assertEquals(2.0, limiter.limit());
+		assertEquals(0, limiter.inFlight());
+	}
+
+	@Test
+	void clientIdHeaderIsOnlyBelievedFromTrustedProxies() throws Exception {
+		RateLimitFilter filter = new RateLimitFilter(new GcraRateLimiter(0.001, 1, 1_000), new GcraRateLimiter(0.001, 1, 1_000),
+				new AdaptiveConcurrencyLimiter(10, 2, 100, SECOND, 0.5, 0.0), List.of(), Set.of("10.0.0.9"),
+				new SimpleMeterRegistry());
+
+		assertEquals(200, get(filter, "10.0.0.1", "a"));
+		assertEquals(429, get(filter, "10.0.0.1", "b"), "a new id from an untrusted address is still the same client");
+
+		assertEquals(200, get(filter, "10.0.0.9", "a"));
+		assertEquals(200, get(filter, "10.0.0.9", "b"));
+		assertEquals(429, get(filter, "10.0.0.9", "a"));
+	}
+
+	private static int get(RateLimitFilter filter, String remoteAddr, String clientId) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/students");
+		request.setRemoteAddr(remoteAddr);
+		request.addHeader(ReadYourWritesFilter.CLIENT_ID_HEADER, clientId);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, new MockFilterChain());
+		return response.getStatus();
+	}
+}
@@ -0,0 +1,85 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.readmodel;
+
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.StudentDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PackedStudentStoreTests {
+
+	@Test
+	void storesUpdatesAndRemovesRowsAcrossResizes() {
+		PackedStudentStore store = new PackedStudentStore(4);
+		for (long id = 1; id <= 10_000; id++) {
+			store.put(id, 0, "Student " + id, "student" + id + "@example.com");
+		}
+		for (long id = 2; id <= 10_000; id += 2) {
+			assertTrue(store.remove(id));
+		}
+		assertTrue(store.put(3, 1, "Renamed", null));
+		assertFalse(store.put(3, 0, "Stale", "stale@example.com"), "an older version must not overwrite");
+
+		assertEquals(5_000, store.size());
+		assertNull(store.get(2));
+		assertEquals(new StudentDto(3L, "Renamed", null, 1L), store.get(3));
+		for (long id = 1; id <= 10_000; id += 2) {
+			if (id != 3) assertEquals("student" + id + "@example.com", store.get(id).getEmail());
+		}
+	}
+
+	@Test
+	void searchesLikeTheRepositoryInIdOrder() {
+		PackedStudentStore store = new PackedStudentStore(16);
+		store.put(5, 0, "Jonas", "jonas@school.org");
+		store.put(1, 0, "John", "john@example.com");
+		store.put(9, 0, "Mary Jo", "mary@school.org");
+		store.put(3, 0, "Jöran", "joran@school.org");
+
+		assertEquals(List.of(1L, 5L), ids(store.search("Jo", false, null, null, 0, 10)));
+		assertEquals(List.of(1L, 5L, 9L), ids(store.search("Jo", true, null, null, 0, 10)));
+		assertEquals(List.of(3L), ids(store.search("Jö", false, null, null, 0, 10)));
+		assertEquals(List.of(3L, 5L), ids(store.search(null, false, null, "school.org", 0, 2)));
+		assertEquals(List.of(9L), ids(store.search(null, false, null, "school.org", 5, 2)));
+		assertEquals(List.of(1L), ids(store.search(null, false, "john@example.com", null, 0, 10)));
+		assertEquals(List.of(), ids(store.search("jo", false, null, null, 0, 10)));
+	}
+
+	@Test
+	void emailAndDomainLookupsFollowUpdatesRemovesAndResizes() {
+		PackedStudentStore store = new PackedStudentStore(4);
+		for (long id = 1; id <= 3_000; id++) {
+			store.put(id, 0, "Student " + id, "student" + id + "@" + (id % 3 == 0 ? "school.org" : "example.com"));
+		}
+		for (long id = 3; id <= 3_000; id += 6) {
+			assertTrue(store.remove(id));
+		}
+		// moves 6, 12, ... to another domain, 1500 keeps its domain with a new address
+		for (long id = 6; id <= 3_000; id += 12) {
+			store.put(id, 1, "Moved " + id, "moved" + id + "@example.com");
+		}
+		store.put(1_500, 2, "Renamed", "renamed@school.org");
+		store.put(2, 1, "No Email", null);
+
+		List<Long> school = LongStream.rangeClosed(1, 3_000)
+				.filter(id -> id % 6 == 0 && (id % 12 != 6 || id == 1_500)).boxed().toList();
+		assertEquals(school, ids(store.search(null, false, null, "school.org", 0, 3_000)));
+		assertEquals(school.subList(10, 15), ids(store.search(null, false, null, "school.org", school.get(9), 5)));
+		assertEquals(List.of(1_500L), ids(store.search(null, false, "renamed@school.org", null, 0, 10)));
+		assertEquals(List.of(24L), ids(store.search("Student", false, "student24@school.org", "school.org", 0, 10)));
+		assertEquals(List.of(), ids(store.search(null, false, "student1500@school.org", null, 0, 10)));
+		assertEquals(List.of(), ids(store.search(null, false, "student3@school.org", null, 0, 10)));
+		assertEquals(List.of(), ids(store.search(null, false, "student2@example.com", null, 0, 10)));
+		assertEquals(List.of(6L), ids(store.search(null, false, "moved6@example.com", null, 0, 10)));
+		assertEquals(List.of(), ids(store.search(null, false, null, "chool.org", 0, 10)));
+	}
+
+	private static List<Long> ids(List<StudentDto> students) {
+		return students.stream().map(StudentDto::getId).toList();
+	}
+}
@@ -0,0 +1,58 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.readmodel;
+
+import com.abhinavjain.projectone.Project_1.learningRestAPI.outbox.StudentChangeEvent;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.outbox.StudentChangeEventRepository;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.outbox.StudentOutboxDispatcher;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// scheduled runs pushed out of the way, the test dispatches and syncs by hand
+@SpringBootTest(properties = {"readmodel.enabled=true", "readmodel.sync-interval-ms=3600000",
+		"outbox.dispatcher.enabled=true", "outbox.dispatch-interval-ms=3600000"})
+class StudentReadModelTests {
+
+	@Autowired
+	private StudentReadModel readModel;
+
+	@Autowired
+	private StudentOutboxDispatcher dispatcher;
+
+	@Autowired
+	private StudentChangeEventRepository repository;
+
+	@Test
+	void appliesChangesOfOtherInstancesFromTheOutbox() throws InterruptedException {
+		for (int i = 0; i < 100 && !readModel.isReady(); i++) Thread.sleep(50);
+		assertTrue(readModel.isReady());
+
+		// written by another instance: no in-process event here
+		long studentId = 7_000_001L;
+		record(studentId, StudentChangeEvent.Type.CREATED, 0L,
+				"{\"id\":" + studentId + ",\"name\":\"Elsewhere\",\"email\":\"elsewhere@example.com\",\"version\":0}");
+		dispatcher.dispatch();
+		readModel.syncFromOutbox();
+		assertEquals("elsewhere@example.com", readModel.get(studentId).getEmail());
+
+		record(studentId, StudentChangeEvent.Type.DELETED, null, null);
+		dispatcher.dispatch();
+		readModel.syncFromOutbox();
+		assertNull(readModel.get(studentId));
+	}
+
+	private void record(long studentId, StudentChangeEvent.Type type, Long version, String payload) {
+		StudentChangeEvent event = new StudentChangeEvent();
+		event.setStudentId(studentId);
+		event.setStudentVersion(version);
+		event.setType(type);
+		event.setPayload(payload);
+		event.setCreatedAt(Instant.now());
+		repository.save(event);
+	}
+}
@@ -0,0 +1,53 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.repository;
+
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.AddStudentRequestDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.StudentDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.StudentSearchRequestDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.service.StudentService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class StudentSearchTests {
+
+	@Autowired
+	private StudentService studentService;
+
+	@Test
+	void emailDomainFollowsEmailChanges() {
+		Long first = create("Domain One", "one@search-a.test");
+		Long second = create("Domain Two", "two@search-a.test");
+		Long third = create("Domain Three", "three@search-b.test");
+
+		assertEquals(List.of(first, second), idsInDomain("search-a.test"));
+
+		studentService.updatePartialStudent(second, Map.of("email", "two@search-b.test"), null);
+		AddStudentRequestDto replacement = new AddStudentRequestDto();
+		replacement.setName("Domain One");
+		replacement.setEmail("one@search-c.test");
+		studentService.updateStudent(first, replacement, null);
+
+		assertEquals(List.of(), idsInDomain("search-a.test"));
+		assertEquals(List.of(second, third), idsInDomain("search-b.test"));
+		assertEquals(List.of(first), idsInDomain("search-c.test"));
+	}
+
+	private Long create(String name, String email) {
+		AddStudentRequestDto request = new AddStudentRequestDto();
+		request.setName(name);
+		request.setEmail(email);
+		return studentService.createdNewStudent(request).getId();
+	}
+
+	private List<Long> idsInDomain(String domain) {
+		StudentSearchRequestDto search = new StudentSearchRequestDto();
+		search.setEmailDomain(domain);
+		return studentService.searchStudents(search, null, 10).getStudents().stream().map(StudentDto::getId).toList();
+	}
+}
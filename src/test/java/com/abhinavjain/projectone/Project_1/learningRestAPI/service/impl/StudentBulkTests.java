@@ -0,0 +1,126 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.service.impl;
+
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.AddStudentRequestDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.BulkItemResultDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.BulkPatchRequestDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.BulkResultDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.entity.Student;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.repository.StudentRepository;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.service.StudentService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class StudentBulkTests {
+
+	@Autowired
+	private StudentService studentService;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Test
+	void createReportsEachItemAndSavesTheValidOnes() {
+		studentService.createdNewStudent(student("Already There", "already.there@bulk-create.test"));
+
+		BulkResultDto result = studentService.createStudents(Arrays.asList(
+				student("Bulk Created", "bulk.created@bulk-create.test"),
+				student("No", "not-an-email"),
+				student("Existing Email", "already.there@bulk-create.test"),
+				null,
+				student("Repeated Once", "repeated@bulk-create.test"),
+				student("Repeated Twice", "repeated@bulk-create.test")));
+
+		assertEquals(2, result.getSucceeded());
+		assertEquals(4, result.getFailed());
+		assertSucceeded(result.getResults().get(0));
+		assertFailed(result.getResults().get(1), null);
+		assertFailed(result.getResults().get(2), "email: a student with this email already exists");
+		assertFailed(result.getResults().get(3), "Student is required");
+		assertSucceeded(result.getResults().get(4));
+		assertFailed(result.getResults().get(5), "email: appears earlier in the request");
+		assertEquals("Bulk Created", studentRepository.findById(result.getResults().get(0).getId()).orElseThrow().getName());
+	}
+
+	@Test
+	void patchRejectsEmailClashesPerItem() {
+		Long renamed = create("Bulk Patch One", "one@bulk-patch.test");
+		Long taker = create("Bulk Patch Two", "two@bulk-patch.test");
+		Long taken = create("Bulk Patch Three", "three@bulk-patch.test");
+		Long mover = create("Bulk Patch Four", "four@bulk-patch.test");
+		Long keeper = create("Bulk Patch Five", "five@bulk-patch.test");
+
+		BulkResultDto result = studentService.updatePartialStudents(Arrays.asList(
+				new BulkPatchRequestDto(renamed, Map.of("name", "Bulk Patch Renamed")),
+				new BulkPatchRequestDto(taker, Map.of("email", "three@bulk-patch.test")),
+				new BulkPatchRequestDto(mover, Map.of("email", "moved@bulk-patch.test")),
+				new BulkPatchRequestDto(taken, Map.of("email", "moved@bulk-patch.test")),
+				new BulkPatchRequestDto(keeper, Map.of("name", "Bulk Patch Kept", "email", "five@bulk-patch.test")),
+				new BulkPatchRequestDto(-1L, Map.of("name", "Nobody Here")),
+				new BulkPatchRequestDto(renamed, Map.of("nickname", "x"))));
+
+		assertEquals(3, result.getSucceeded());
+		assertEquals(4, result.getFailed());
+		assertSucceeded(result.getResults().get(0));
+		assertFailed(result.getResults().get(1), "email: a student with this email already exists");
+		assertSucceeded(result.getResults().get(2));
+		assertFailed(result.getResults().get(3), "email: appears earlier in the request");
+		assertSucceeded(result.getResults().get(4));
+		assertFailed(result.getResults().get(5), "No Student found with id -1");
+		assertFailed(result.getResults().get(6), "Field: nickname is not a valid field");
+
+		assertEquals("Bulk Patch Renamed", load(renamed).getName());
+		assertEquals("two@bulk-patch.test", load(taker).getEmail());
+		assertEquals("moved@bulk-patch.test", load(mover).getEmail());
+		assertEquals("three@bulk-patch.test", load(taken).getEmail());
+		assertEquals("Bulk Patch Kept", load(keeper).getName());
+	}
+
+	@Test
+	void deleteReportsMissingIds() {
+		Long deleted = create("Bulk Delete", "delete@bulk-delete.test");
+
+		BulkResultDto result = studentService.deleteStudents(Arrays.asList(deleted, -1L, null));
+
+		assertEquals(1, result.getSucceeded());
+		assertEquals(2, result.getFailed());
+		assertSucceeded(result.getResults().get(0));
+		assertFailed(result.getResults().get(1), "Student does not exist by id -1");
+		assertFailed(result.getResults().get(2), "Id is required");
+		assertFalse(studentRepository.existsById(deleted));
+	}
+
+	private Long create(String name, String email) {
+		return studentService.createdNewStudent(student(name, email)).getId();
+	}
+
+	private Student load(Long id) {
+		return studentRepository.findById(id).orElseThrow();
+	}
+
+	private static AddStudentRequestDto student(String name, String email) {
+		AddStudentRequestDto request = new AddStudentRequestDto();
+		request.setName(name);
+		request.setEmail(email);
+		return request;
+	}
+
+	private static void assertSucceeded(BulkItemResultDto item) {
+		assertTrue(item.isSuccess(), () -> "item " + item.getIndex() + " failed: " + item.getErrors());
+	}
+
+	// error null: failed for any reason
+	private static void assertFailed(BulkItemResultDto item, String error) {
+		assertFalse(item.isSuccess(), () -> "item " + item.getIndex() + " succeeded");
+		if (error != null) assertEquals(List.of(error), item.getErrors());
+	}
+}
@@ -0,0 +1,54 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.service.impl;
+
+import com.abhinavjain.projectone.Project_1.learningRestAPI.config.CacheConfig;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.AddStudentRequestDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.StudentDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.service.StudentService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest
+class StudentCacheTests {
+
+	@Autowired
+	private StudentService studentService;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Test
+	void evictsOnlyAfterTheWriteCommits() {
+		AddStudentRequestDto request = new AddStudentRequestDto();
+		request.setName("Cached Student");
+		request.setEmail("cached.student@example.com");
+		Long id = studentService.createdNewStudent(request).getId();
+		studentService.getStudentByID(id);
+		Cache cache = cacheManager.getCache(CacheConfig.STUDENTS_CACHE);
+		assertNotNull(cache.get(id));
+
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			studentService.updatePartialStudent(id, Map.of("name", "Renamed Cached Student"), null);
+			// still uncommitted: a reader loading now would see the old row, so the entry must stay until the commit
+			assertNotNull(cache.get(id));
+		});
+		assertNull(cache.get(id));
+
+		StudentDto reloaded = studentService.getStudentByID(id);
+		assertEquals("Renamed Cached Student", reloaded.getName());
+		assertEquals(reloaded, cache.get(id).get());
+	}
+}
@@ -0,0 +1,45 @@
+package com.abhinavjain.projectone.Project_1.learningRestAPI.service.impl;
+
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.AddStudentRequestDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.dto.StudentDto;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.repository.StudentRepository;
+import com.abhinavjain.projectone.Project_1.learningRestAPI.service.StudentService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class StudentUpdateTests {
+
+	@Autowired
+	private StudentService studentService;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Test
+	void partialUpdateReturnsTheNewRowEvenIfTheOldOneWasLoadedBefore() {
+		AddStudentRequestDto request = new AddStudentRequestDto();
+		request.setName("Loaded Student");
+		request.setEmail("loaded.student@update.test");
+		Long id = studentService.createdNewStudent(request).getId();
+
+		StudentDto updated = new TransactionTemplate(transactionManager).execute(status -> {
+			// now managed by this transaction's persistence context, with the old name and version
+			studentRepository.findById(id).orElseThrow();
+			return studentService.updatePartialStudent(id, Map.of("name", "Reloaded Student"), null);
+		});
+
+		assertEquals("Reloaded Student", updated.getName());
+		assertEquals(1L, updated.getVersion());
+	}
+}
@@ -0,0 +1,106 @@
+package com.abhinavjain.projectone.Project_1.understandingBeans;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AsyncRoutingPaymentServiceTests {
+
+	private final RoutingPaymentService routing = new RoutingPaymentService(
+			List.of(new RazorPayPaymentService(), new StripePaymentService()), "razorpay", 0.2, 10, 0.5, 2000, 30_000);
+
+	@Test
+	void failsOverOnlyWhenThePaymentNeverLeft() throws Exception {
+		AtomicInteger stripeCalls = new AtomicInteger();
+		AsyncPaymentService stripe = provider("stripe", stripeCalls, request ->
+				CompletableFuture.completedFuture(new PaymentResult(request.paymentId(), "stripe", true, "ok")));
+
+		AsyncRoutingPaymentService rejectedFirst = new AsyncRoutingPaymentService(routing, List.of(
+				provider("razorpay", new AtomicInteger(), request -> CompletableFuture.failedFuture(new RejectedExecutionException("queue full"))),
+				stripe));
+		assertEquals("stripe", rejectedFirst.payAsync(new PaymentRequest("p-1", 100, "INR")).get().provider());
+		assertEquals(1, stripeCalls.get());
+
+		AsyncRoutingPaymentService timedOutFirst = new AsyncRoutingPaymentService(routing, List.of(
+				provider("razorpay", new AtomicInteger(), request -> CompletableFuture.failedFuture(new TimeoutException())),
+				stripe));
+		ExecutionException error = assertThrows(ExecutionException.class,
+				() -> timedOutFirst.payAsync(new PaymentRequest("p-2", 100, "INR")).get());
+		assertInstanceOf(TimeoutException.class, error.getCause());
+		assertEquals(1, stripeCalls.get());
+	}
+
+	@Test
+	void localRejectionsDoNotTripTheProvidersBreaker() throws Exception {
+		AsyncRoutingPaymentService service = new AsyncRoutingPaymentService(routing, List.of(
+				provider("razorpay", new AtomicInteger(), request -> CompletableFuture.failedFuture(new RejectedExecutionException("queue full"))),
+				provider("stripe", new AtomicInteger(), request ->
+						CompletableFuture.completedFuture(new PaymentResult(request.paymentId(), "stripe", true, "ok")))));
+
+		for (int i = 0; i < 20; i++) {
+			assertEquals("stripe", service.payAsync(new PaymentRequest("p-local-" + i, 100, "INR")).get().provider());
+		}
+		ProviderStatus razorpay = routing.status().stream().filter(status -> status.provider().equals("razorpay")).findFirst().orElseThrow();
+		assertEquals("CLOSED", razorpay.circuit());
+		assertEquals(0, razorpay.calls());
+	}
+
+	@Test
+	void anErrorInTheTrialCallOpensTheBreakerAgain() throws InterruptedException {
+		AtomicReference<Throwable> failure = new AtomicReference<>(new IllegalStateException("provider down"));
+		PaymentService flaky = new PaymentService() {
+			@Override
+			public String pay() {
+				if (failure.get() instanceof Error e) throw e;
+				throw (RuntimeException) failure.get();
+			}
+
+			@Override
+			public String provider() {
+				return "flaky";
+			}
+		};
+		RoutingPaymentService single = new RoutingPaymentService(List.of(flaky), "auto", 0.2, 1, 0.5, 2000, 50);
+
+		assertThrows(IllegalStateException.class, single::pay);
+		assertEquals("OPEN", single.status().get(0).circuit());
+
+		Thread.sleep(100);
+		failure.set(new AssertionError("bug in the provider client"));
+		assertThrows(AssertionError.class, single::pay);
+		assertEquals("OPEN", single.status().get(0).circuit());
+	}
+
+	private static AsyncPaymentService provider(String name, AtomicInteger calls,
+												Function<PaymentRequest, CompletableFuture<PaymentResult>> outcome) {
+		return new AsyncPaymentService() {
+			@Override
+			public String provider() {
+				return name;
+			}
+
+			@Override
+			public CompletableFuture<PaymentResult> payAsync(PaymentRequest request) {
+				calls.incrementAndGet();
+				return outcome.apply(request);
+			}
+
+			@Override
+			public CompletableFuture<Optional<PaymentResult>> lookup(String paymentId) {
+				return CompletableFuture.completedFuture(Optional.empty());
+			}
+		};
+	}
+}
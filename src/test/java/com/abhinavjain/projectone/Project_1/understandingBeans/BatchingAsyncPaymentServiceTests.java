@@ -0,0 +1,65 @@
+package com.abhinavjain.projectone.Project_1.understandingBeans;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchingAsyncPaymentServiceTests {
+
+	@Test
+	void completesThousandsOfConcurrentPaymentsInBatches() {
+		try (StubPaymentGateway gateway = new StubPaymentGateway("stub", Duration.ofMillis(20), 0.0);
+			 BatchingAsyncPaymentService service = new BatchingAsyncPaymentService(
+					 gateway, 100, Duration.ofMillis(5), Duration.ofSeconds(5), 4, 10_000)) {
+
+			List<CompletableFuture<PaymentResult>> results = IntStream.range(0, 5_000)
+					.mapToObj(i -> service.payAsync(new PaymentRequest("p-" + i, 100, "INR")))
+					.toList();
+			CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).join();
+
+			for (int i = 0; i < results.size(); i++) {
+				PaymentResult result = results.get(i).join();
+				assertEquals("p-" + i, result.paymentId());
+				assertTrue(result.approved());
+			}
+			assertTrue(gateway.batchCount() <= 60, "expected about 50 batches, got " + gateway.batchCount());
+		}
+	}
+
+	@Test
+	void timesOutPaymentsTheProviderDoesNotAnswerInTime() {
+		try (StubPaymentGateway gateway = new StubPaymentGateway("slow", Duration.ofSeconds(5), 0.0);
+			 BatchingAsyncPaymentService service = new BatchingAsyncPaymentService(
+					 gateway, 10, Duration.ofMillis(1), Duration.ofMillis(50), 1, 100)) {
+
+			ExecutionException error = assertThrows(ExecutionException.class,
+					() -> service.payAsync(new PaymentRequest("p-1", 100, "INR")).get());
+			assertInstanceOf(TimeoutException.class, error.getCause());
+		}
+	}
+
+	@Test
+	void rejectsPaymentsBeyondThePendingLimit() {
+		try (StubPaymentGateway gateway = new StubPaymentGateway("busy", Duration.ofSeconds(5), 0.0);
+			 BatchingAsyncPaymentService service = new BatchingAsyncPaymentService(
+					 gateway, 10, Duration.ofSeconds(1), Duration.ofSeconds(5), 1, 5)) {
+
+			IntStream.range(0, 5).forEach(i -> service.payAsync(new PaymentRequest("p-" + i, 100, "INR")));
+			CompletableFuture<PaymentResult> rejected = service.payAsync(new PaymentRequest("p-5", 100, "INR"));
+
+			ExecutionException error = assertThrows(ExecutionException.class, rejected::get);
+			assertInstanceOf(RejectedExecutionException.class, error.getCause());
+		}
+	}
+}
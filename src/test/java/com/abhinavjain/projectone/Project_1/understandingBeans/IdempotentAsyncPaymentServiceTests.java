@@ -0,0 +1,60 @@
+package com.abhinavjain.projectone.Project_1.understandingBeans;
+
+import com.abhinavjain.projectone.Project_1.idempotency.IdempotencyClaim;
+import com.abhinavjain.projectone.Project_1.idempotency.IdempotencyKeys;
+import com.abhinavjain.projectone.Project_1.idempotency.InMemoryIdempotencyStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdempotentAsyncPaymentServiceTests {
+
+	private final InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(1000, Duration.ofHours(1), Duration.ofSeconds(30));
+
+	@Test
+	void retryAfterTimeoutReturnsTheChargeInsteadOfSendingItAgain() throws Exception {
+		try (StubPaymentGateway gateway = new StubPaymentGateway("slow", Duration.ofMillis(300), 0.0);
+			 BatchingAsyncPaymentService batching = new BatchingAsyncPaymentService(
+					 gateway, 1, Duration.ofMillis(1), Duration.ofMillis(50), 1, 100);
+			 IdempotentAsyncPaymentService service = new IdempotentAsyncPaymentService(batching, store, new ObjectMapper())) {
+
+			PaymentRequest request = new PaymentRequest("p-1", 100, "INR");
+			ExecutionException error = assertThrows(ExecutionException.class, () -> service.payAsync(request).get());
+			assertInstanceOf(TimeoutException.class, error.getCause());
+
+			Thread.sleep(400);
+			PaymentResult retried = service.payAsync(request).get();
+			assertEquals("p-1", retried.paymentId());
+			assertTrue(retried.approved());
+			assertEquals(1, gateway.batchCount());
+			assertEquals(retried, service.payAsync(request).get());
+		}
+	}
+
+	@Test
+	void paymentThatTimedOutWhileQueuedReleasesItsKey() throws Exception {
+		try (StubPaymentGateway gateway = new StubPaymentGateway("stub", Duration.ofMillis(20), 0.0);
+			 // a single payment waits for the linger, far beyond its timeout
+			 BatchingAsyncPaymentService batching = new BatchingAsyncPaymentService(
+					 gateway, 10, Duration.ofSeconds(10), Duration.ofMillis(50), 1, 100);
+			 IdempotentAsyncPaymentService service = new IdempotentAsyncPaymentService(batching, store, new ObjectMapper())) {
+
+			ExecutionException error = assertThrows(ExecutionException.class,
+					() -> service.payAsync(new PaymentRequest("p-1", 100, "INR")).get());
+			assertInstanceOf(RejectedExecutionException.class, error.getCause());
+			assertEquals(0, gateway.batchCount());
+
+			Thread.sleep(50);
+			assertEquals(IdempotencyClaim.Outcome.NEW, store.claim("payment stub p-1", IdempotencyKeys.fingerprint("100 INR")).outcome());
+		}
+	}
+}